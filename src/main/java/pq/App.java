@@ -9,21 +9,22 @@ import com.eclipsesource.json.JsonValue;
 import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.Iterator;
 import java.util.Optional;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import org.apache.parquet.ParquetReadOptions;
-import org.apache.parquet.filter2.compat.FilterCompat;
 import org.apache.parquet.filter2.compat.FilterCompat.Filter;
 import org.apache.parquet.hadoop.ParquetFileReader;
 import org.apache.parquet.hadoop.ParquetFileWriter.Mode;
-import org.apache.parquet.hadoop.ParquetReader;
 import org.apache.parquet.hadoop.ParquetWriter;
 import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
 import org.apache.parquet.schema.MessageType;
 import org.jspecify.annotations.Nullable;
 import org.slf4j.LoggerFactory;
@@ -33,10 +34,13 @@ import ch.qos.logback.classic.Logger;
 import picocli.CommandLine;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.HelpCommand;
+import picocli.CommandLine.Model.CommandSpec;
 import picocli.CommandLine.Option;
+import picocli.CommandLine.ParameterException;
 import picocli.CommandLine.ScopeType;
-import pq.internal.JsonParquetReader;
+import picocli.CommandLine.Spec;
 import pq.internal.JsonParquetWriter;
+import pq.internal.RowGroupReader;
 
 @Command(name = "pq", description = "parquet query tool", footer = "Copyright(c) 2023-2025 by @tonivade@mastodon.social",
   subcommands = {
@@ -44,12 +48,62 @@ import pq.internal.JsonParquetWriter;
       MetadataCommand.class, WriteCommand.class, HelpCommand.class })
 public final class App {
 
+  private static boolean mmap;
+  private static int mergeGap = ParquetInputFile.DEFAULT_MERGE_GAP;
+  private static boolean bloomFilter = true;
+  private static boolean dictionaryFilter = true;
+  private static boolean columnIndexFilter = true;
+  @Nullable
+  private static FooterCache cache;
+
+  @SuppressWarnings("NullAway.Init")
+  @Spec
+  private CommandSpec spec;
+
   @Option(names = { "-v", "--verbose" }, description = "enable debug logs", scope = ScopeType.INHERIT, defaultValue = "false")
   void setVerbose(boolean verbose) {
     var root = (Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
     root.setLevel(verbose ? Level.INFO : Level.ERROR);
   }
 
+  @Option(names = "--mmap", description = "read parquet files using memory mapped io", scope = ScopeType.INHERIT, defaultValue = "false")
+  void setMmap(boolean mmap) {
+    App.mmap = mmap;
+  }
+
+  @Option(names = "--merge-gap", description = "max gap in bytes between column chunks to merge them in a single read",
+      paramLabel = "BYTES", scope = ScopeType.INHERIT, defaultValue = "" + ParquetInputFile.DEFAULT_MERGE_GAP)
+  void setMergeGap(int mergeGap) {
+    if (mergeGap < 0) {
+      throw new ParameterException(spec.commandLine(), "invalid merge gap: " + mergeGap);
+    }
+    App.mergeGap = mergeGap;
+  }
+
+  @Option(names = "--bloom-filter", negatable = true, description = "use bloom filters to skip row groups",
+      scope = ScopeType.INHERIT, defaultValue = "true", fallbackValue = "true")
+  void setBloomFilter(boolean bloomFilter) {
+    App.bloomFilter = bloomFilter;
+  }
+
+  @Option(names = "--dictionary-filter", negatable = true, description = "use dictionaries to skip row groups",
+      scope = ScopeType.INHERIT, defaultValue = "true", fallbackValue = "true")
+  void setDictionaryFilter(boolean dictionaryFilter) {
+    App.dictionaryFilter = dictionaryFilter;
+  }
+
+  @Option(names = "--column-index-filter", negatable = true, description = "use column indexes to skip pages",
+      scope = ScopeType.INHERIT, defaultValue = "true", fallbackValue = "true")
+  void setColumnIndexFilter(boolean columnIndexFilter) {
+    App.columnIndexFilter = columnIndexFilter;
+  }
+
+  @Option(names = "--cache-dir", description = "directory to cache parquet footers, by default PQ_CACHE_DIR env variable",
+      paramLabel = "DIR", scope = ScopeType.INHERIT, defaultValue = "${env:PQ_CACHE_DIR}")
+  void setCacheDir(@Nullable File cacheDir) {
+    App.cache = cacheDir != null ? new FooterCache(cacheDir.toPath()) : null;
+  }
+
   public static void main(String... args) {
     System.exit(execute(args));
   }
@@ -59,24 +113,23 @@ public final class App {
   }
 
   static MessageType schema(File file) {
-    try (var reader = createFileReader(file, FilterCompat.NOOP)) {
-      return reader.getFileMetaData().getSchema();
+    return footer(file).getFileMetaData().getSchema();
+  }
+
+  static ParquetMetadata footer(File file) {
+    try {
+      return footer(file, inputFile(file));
     } catch (IOException e) {
       throw new UncheckedIOException(e);
     }
   }
 
-  static Filter parseFilter(@Nullable String filter, MessageType schema) {
-    if (filter == null) {
-      return FilterCompat.NOOP;
+  static ParquetMetadata footer(File file, ParquetInputFile input) throws IOException {
+    var current = cache;
+    if (current != null) {
+      return current.read(file, input);
     }
-    var predicate = new FilterParser().parse(filter).apply(schema).convert();
-    return FilterCompat.get(predicate);
-  }
-
-  static Optional<MessageType> createProjection(MessageType schema, @Nullable String filter) {
-    String[] select = new FilterParser().parse(filter).columns().toArray(String[]::new);
-    return createProjection(schema, select);
+    return ParquetFooter.read(input);
   }
 
   static Optional<MessageType> createProjection(MessageType schema, @Nullable String[] select) {
@@ -88,28 +141,40 @@ public final class App {
     return Optional.empty();
   }
 
-  static Stream<Tuple> stream(ParquetReader<JsonValue> reader) {
+  static Stream<Tuple> stream(RowGroupReader<JsonValue> reader) {
+    return stream(new ParquetIterator(reader));
+  }
+
+  static Stream<Tuple> stream(Iterator<Tuple> iterator) {
     var spliterator = Spliterators.spliteratorUnknownSize(
-        new ParquetIterator(reader), Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        iterator, Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
     return StreamSupport.stream(spliterator, false);
   }
 
-  static ParquetFileReader createFileReader(File file, Filter filter) throws IOException {
-    return new ParquetFileReader(
-        new ParquetInputFile(file), ParquetReadOptions.builder().withRecordFilter(filter).build());
+  static ParquetFileReader createFileReader(ParquetInputFile input, ParquetMetadata footer, Filter filter) throws IOException {
+    return new ParquetFileReader(input, footer, readOptions(filter), input.newStream());
   }
 
-  static ParquetWriter<JsonValue> createJsonWriter(File file, MessageType schema) throws IOException {
-    return JsonParquetWriter.builder(new ParquetOutputFile(file), schema)
-        .withWriteMode(Mode.OVERWRITE)
-        .withCompressionCodec(CompressionCodecName.SNAPPY)
+  static ParquetReadOptions readOptions(Filter filter) {
+    return ParquetReadOptions.builder()
+        .withRecordFilter(filter)
+        .useStatsFilter(true)
+        .useBloomFilter(bloomFilter)
+        .useDictionaryFilter(dictionaryFilter)
+        .useColumnIndexFilter(columnIndexFilter)
+        .withUseHadoopVectoredIo(true)
         .build();
   }
 
-  static ParquetReader<JsonValue> createJsonReader(File file, Filter filter, @Nullable MessageType projection) throws IOException {
-    return JsonParquetReader.builder(new ParquetInputFile(file))
-        .withProjection(projection)
-        .withFilter(filter)
-        .build();
+  static ParquetInputFile inputFile(File file) {
+    return new ParquetInputFile(file, mmap, mergeGap);
+  }
+
+  static ParquetWriter<JsonValue> createJsonWriter(File file, MessageType schema,
+      UnaryOperator<JsonParquetWriter.Builder> options) throws IOException {
+    var builder = JsonParquetWriter.builder(new ParquetOutputFile(file), schema)
+        .withWriteMode(Mode.OVERWRITE)
+        .withCompressionCodec(CompressionCodecName.SNAPPY);
+    return options.apply(builder).build();
   }
 }
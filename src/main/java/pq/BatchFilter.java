@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveComparator;
+import org.jspecify.annotations.Nullable;
+
+import pq.FilterParser.Logic;
+import pq.FilterParser.Operator;
+import pq.FilterParser.TypedExpr;
+import pq.FilterParser.TypedExpr.BooleanCondition;
+import pq.FilterParser.TypedExpr.DoubleCondition;
+import pq.FilterParser.TypedExpr.FloatCondition;
+import pq.FilterParser.TypedExpr.IntCondition;
+import pq.FilterParser.TypedExpr.LongCondition;
+import pq.FilterParser.TypedExpr.StringCondition;
+import pq.FilterParser.TypedExpr.TypedExpression;
+import pq.FilterParser.TypedExpr.TypedInCondition;
+import pq.FilterParser.TypedExpr.TypedNotExpression;
+import pq.FilterParser.TypedExpr.TypedNullExpression;
+import pq.FilterParser.TypedExpr.TypedPatternCondition;
+import pq.internal.ColumnBatch;
+import pq.internal.ColumnVector;
+import pq.internal.ColumnVector.BinaryVector;
+import pq.internal.ColumnVector.BooleanVector;
+import pq.internal.ColumnVector.DoubleVector;
+import pq.internal.ColumnVector.FloatVector;
+import pq.internal.ColumnVector.IntVector;
+import pq.internal.ColumnVector.LongVector;
+
+// evaluates the filter over the column vectors of a batch, one condition at a
+// time for all the rows, without assembling records. Same semantics as the record
+// filter: not is pushed down to the conditions, nulls only match == null and
+// != value, and values are compared with the comparator of the column type
+final class BatchFilter {
+
+  @FunctionalInterface
+  private interface Node {
+    void eval(ColumnBatch batch, boolean[] result);
+  }
+
+  private final Node root;
+  private final boolean[] matches;
+
+  BatchFilter(TypedExpr<?> predicate, MessageType projection, int capacity) {
+    this.root = compile(predicate, projection.getColumns(), capacity, false);
+    this.matches = new boolean[capacity];
+  }
+
+  int count(ColumnBatch batch) {
+    root.eval(batch, matches);
+    int count = 0;
+    for (int row = 0; row < batch.size(); row++) {
+      if (matches[row]) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static Node compile(TypedExpr<?> expr, List<ColumnDescriptor> columns, int capacity, boolean negate) {
+    return switch (expr) {
+      case IntCondition(var column, var operator, var value) -> comparison(columns, column, operator, value, negate,
+          (comparator, target) -> (vector, row) -> comparator.compare(((IntVector) vector).getInt(row), target.intValue()));
+      case LongCondition(var column, var operator, var value) -> comparison(columns, column, operator, value, negate,
+          (comparator, target) -> (vector, row) -> comparator.compare(((LongVector) vector).getLong(row), target.longValue()));
+      case FloatCondition(var column, var operator, var value) -> comparison(columns, column, operator, value, negate,
+          (comparator, target) -> (vector, row) -> comparator.compare(((FloatVector) vector).getFloat(row), target.floatValue()));
+      case DoubleCondition(var column, var operator, var value) -> comparison(columns, column, operator, value, negate,
+          (comparator, target) -> (vector, row) -> comparator.compare(((DoubleVector) vector).getDouble(row), target.doubleValue()));
+      case BooleanCondition(var column, var operator, var value) -> comparison(columns, column, operator, value, negate,
+          (comparator, target) -> (vector, row) -> comparator.compare(((BooleanVector) vector).getBoolean(row), target.booleanValue()));
+      case StringCondition(var column, var operator, var value) -> comparison(columns, column, operator, value, negate,
+          (comparator, target) -> {
+            var binary = Binary.fromString(target);
+            return (vector, row) -> comparator.compare(((BinaryVector) vector).getBinary(row), binary);
+          });
+      case TypedInCondition<?>(var column, var _, var not, var values) -> {
+        int index = index(columns, column);
+        boolean in = not == negate;
+        yield (batch, result) -> contains(batch.column(index), values, in, batch.size(), result);
+      }
+      case TypedPatternCondition(var column, var predicate) -> {
+        int index = index(columns, column);
+        yield (batch, result) -> {
+          var vector = (BinaryVector) batch.column(index);
+          for (int row = 0; row < batch.size(); row++) {
+            result[row] = vector.isNull(row) ? negate : predicate.keep(vector.getBinary(row)) != negate;
+          }
+        };
+      }
+      case TypedExpression<?>(var left, var operator, var right) -> {
+        var first = compile(left, columns, capacity, negate);
+        var second = compile(right, columns, capacity, negate);
+        var other = new boolean[capacity];
+        boolean and = (operator == Logic.AND) != negate;
+        yield (batch, result) -> {
+          first.eval(batch, result);
+          second.eval(batch, other);
+          for (int row = 0; row < batch.size(); row++) {
+            result[row] = and ? result[row] && other[row] : result[row] || other[row];
+          }
+        };
+      }
+      case TypedNotExpression<?>(var inner) -> compile(inner, columns, capacity, !negate);
+      case TypedNullExpression<?> _ -> (batch, result) -> Arrays.fill(result, 0, batch.size(), !negate);
+    };
+  }
+
+  // compares the value of each row with the target, the cast to the type of the
+  // vector and the comparator are resolved once for the whole batch
+  @FunctionalInterface
+  private interface RowComparator {
+    int compare(ColumnVector vector, int row);
+  }
+
+  // nulls only match != value
+  private static <T> Node comparison(List<ColumnDescriptor> columns, String column, Operator operator,
+      @Nullable T value, boolean negate, BiFunction<PrimitiveComparator<Object>, T, RowComparator> factory) {
+    int index = index(columns, column);
+    var op = negate ? operator.negate() : operator;
+    if (value == null) {
+      return nulls(index, op);
+    }
+    PrimitiveComparator<Object> comparator = columns.get(index).getPrimitiveType().comparator();
+    var compare = factory.apply(comparator, value);
+    return (batch, result) -> {
+      var vector = batch.column(index);
+      for (int row = 0; row < batch.size(); row++) {
+        result[row] = vector.isNull(row) ? op == Operator.NOT_EQUAL : matches(op, compare.compare(vector, row));
+      }
+    };
+  }
+
+  // null is only valid with == and !=
+  private static Node nulls(int index, Operator operator) {
+    return (batch, result) -> {
+      var vector = batch.column(index);
+      for (int row = 0; row < batch.size(); row++) {
+        result[row] = switch (operator) {
+          case EQUAL -> vector.isNull(row);
+          case NOT_EQUAL -> !vector.isNull(row);
+          default -> false;
+        };
+      }
+    };
+  }
+
+  // nulls only match not in
+  private static void contains(ColumnVector vector, Set<?> values, boolean in, int size, boolean[] result) {
+    switch (vector) {
+      case IntVector ints -> {
+        for (int row = 0; row < size; row++) {
+          result[row] = ints.isNull(row) ? !in : values.contains(ints.getInt(row)) == in;
+        }
+      }
+      case LongVector longs -> {
+        for (int row = 0; row < size; row++) {
+          result[row] = longs.isNull(row) ? !in : values.contains(longs.getLong(row)) == in;
+        }
+      }
+      case FloatVector floats -> {
+        for (int row = 0; row < size; row++) {
+          result[row] = floats.isNull(row) ? !in : values.contains(floats.getFloat(row)) == in;
+        }
+      }
+      case DoubleVector doubles -> {
+        for (int row = 0; row < size; row++) {
+          result[row] = doubles.isNull(row) ? !in : values.contains(doubles.getDouble(row)) == in;
+        }
+      }
+      case BooleanVector booleans -> {
+        for (int row = 0; row < size; row++) {
+          result[row] = booleans.isNull(row) ? !in : values.contains(booleans.getBoolean(row)) == in;
+        }
+      }
+      case BinaryVector binaries -> {
+        for (int row = 0; row < size; row++) {
+          result[row] = binaries.isNull(row) ? !in : values.contains(binaries.getBinary(row)) == in;
+        }
+      }
+    }
+  }
+
+  private static boolean matches(Operator operator, int compare) {
+    return switch (operator) {
+      case EQUAL -> compare == 0;
+      case NOT_EQUAL -> compare != 0;
+      case GREATER_THAN -> compare > 0;
+      case LOWER_THAN -> compare < 0;
+      case GREATER_THAN_EQUAL -> compare >= 0;
+      case LOWER_THAN_EQUAL -> compare <= 0;
+    };
+  }
+
+  private static int index(List<ColumnDescriptor> columns, String column) {
+    for (int i = 0; i < columns.size(); i++) {
+      if (String.join(".", columns.get(i).getPath()).equals(column)) {
+        return i;
+      }
+    }
+    throw new IllegalArgumentException("column not in projection: " + column);
+  }
+}
@@ -0,0 +1,17 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq;
+
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+
+// only the codecs with an implementation in the classpath, LZO, BROTLI and LZ4
+// need libraries that are not included
+enum Codec {
+  UNCOMPRESSED, SNAPPY, GZIP, ZSTD, LZ4_RAW;
+
+  CompressionCodecName codecName() {
+    return CompressionCodecName.valueOf(name());
+  }
+}
@@ -4,16 +4,13 @@
  */
 package pq;
 
-import static pq.App.createJsonReader;
-import static pq.App.createProjection;
-import static pq.App.parseFilter;
-import static pq.App.schema;
-import static pq.App.stream;
+import static pq.App.footer;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.schema.MessageType;
 import org.jspecify.annotations.Nullable;
 
@@ -36,12 +33,14 @@ final class CountCommand implements Runnable {
 
   @Override
   public void run() {
-    var schema = schema(file);
-    var parseFilter = parseFilter(filter, schema);
-    var projection = createProjection(schema, filter).orElseGet(() -> justOneColumn(schema));
-    try (var reader = createJsonReader(file, parseFilter, projection)) {
-      var count = stream(reader).count();
-      System.out.println(count);
+    if (filter == null) {
+      // the row count of each row group is in the footer, no need to read any row
+      System.out.println(footer(file).getBlocks().stream().mapToLong(BlockMetaData::getRowCount).sum());
+      return;
+    }
+    try (var session = ReadSession.open(file, filter)) {
+      var projection = session.filterProjection().orElseGet(() -> justOneColumn(session.schema()));
+      System.out.println(session.count(projection));
     } catch (IOException e) {
       throw new UncheckedIOException(e);
     }
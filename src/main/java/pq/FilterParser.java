@@ -5,6 +5,7 @@
 package pq;
 
 import static java.util.Map.entry;
+import static java.util.stream.Collectors.toUnmodifiableSet;
 import static org.apache.parquet.filter2.predicate.FilterApi.and;
 import static org.apache.parquet.filter2.predicate.FilterApi.binaryColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.booleanColumn;
@@ -13,27 +14,34 @@ import static org.apache.parquet.filter2.predicate.FilterApi.eq;
 import static org.apache.parquet.filter2.predicate.FilterApi.floatColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.gt;
 import static org.apache.parquet.filter2.predicate.FilterApi.gtEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.in;
 import static org.apache.parquet.filter2.predicate.FilterApi.intColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.longColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.lt;
 import static org.apache.parquet.filter2.predicate.FilterApi.ltEq;
 import static org.apache.parquet.filter2.predicate.FilterApi.notEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.notIn;
 import static org.apache.parquet.filter2.predicate.FilterApi.or;
+import static org.apache.parquet.filter2.predicate.FilterApi.userDefined;
 import static org.petitparser.parser.primitive.CharacterParser.anyOf;
 import static org.petitparser.parser.primitive.CharacterParser.digit;
 import static org.petitparser.parser.primitive.CharacterParser.letter;
+import static org.petitparser.parser.primitive.CharacterParser.whitespace;
 import static org.petitparser.parser.primitive.CharacterParser.word;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 import org.apache.parquet.filter2.predicate.FilterApi;
 import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.apache.parquet.io.api.Binary;
 import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
 import org.jspecify.annotations.Nullable;
 import org.petitparser.context.Result;
 import org.petitparser.parser.Parser;
@@ -44,8 +52,10 @@ import org.petitparser.tools.GrammarParser;
 
 import pq.FilterParser.Expr.Condition;
 import pq.FilterParser.Expr.Expression;
+import pq.FilterParser.Expr.InCondition;
 import pq.FilterParser.Expr.NotExpression;
 import pq.FilterParser.Expr.NullExpression;
+import pq.FilterParser.Expr.PatternCondition;
 import pq.FilterParser.TypedExpr.BooleanCondition;
 import pq.FilterParser.TypedExpr.DoubleCondition;
 import pq.FilterParser.TypedExpr.FloatCondition;
@@ -53,8 +63,10 @@ import pq.FilterParser.TypedExpr.IntCondition;
 import pq.FilterParser.TypedExpr.LongCondition;
 import pq.FilterParser.TypedExpr.StringCondition;
 import pq.FilterParser.TypedExpr.TypedExpression;
+import pq.FilterParser.TypedExpr.TypedInCondition;
 import pq.FilterParser.TypedExpr.TypedNotExpression;
 import pq.FilterParser.TypedExpr.TypedNullExpression;
+import pq.FilterParser.TypedExpr.TypedPatternCondition;
 
 final class FilterParser extends GrammarDefinition {
 
@@ -74,6 +86,8 @@ final class FilterParser extends GrammarDefinition {
   private static final String PAREN_EXPRESSION = "parenExpression";
   private static final String NOT_EXPRESSION = "notExpression";
   private static final String SINGLE_EXPRESSION = "singleExpression";
+  private static final String IN_EXPRESSION = "inExpression";
+  private static final String PATTERN_EXPRESSION = "patternExpression";
   private static final String BOOLEAN_EXPRESSION = "booleanExpression";
   private static final String VALUE = "value";
 
@@ -90,6 +104,7 @@ final class FilterParser extends GrammarDefinition {
   private static final CharacterParser DOT = CharacterParser.of('.');
   private static final CharacterParser UNDERSCORE = CharacterParser.of('_');
   private static final CharacterParser BACKSLASH = CharacterParser.of('\\');
+  private static final CharacterParser COMMA = CharacterParser.of(',');
 
   private static final Parser FALSE = StringParser.of("false");
   private static final Parser TRUE = StringParser.of("true");
@@ -115,6 +130,17 @@ final class FilterParser extends GrammarDefinition {
   private static final Parser STRING = QUOTE.seq(CHARACTER.star()).seq(QUOTE).flatten()
     .<String, String>map(FilterParser::unquote);
 
+  private static final Parser LITERAL = STRING.or(DECIMAL).or(BOOLEAN).or(INTEGER);
+
+  // null is not allowed in the list, == null can be used instead
+  private static final Parser LITERALS = LITERAL.trim().seq(COMMA.seq(LITERAL.trim()).star());
+
+  private static final Parser IN = StringParser.of("not").seq(whitespace().plus()).optional().seq(StringParser.of("in")).flatten().trim()
+    .<String, Boolean>map(operator -> operator.startsWith("not"));
+
+  private static final Parser STRING_OPERATOR = StringParser.of("starts").or(StringParser.of("like")).or(StringParser.of("=~")).flatten().trim()
+    .<String, StringOperator>map(FilterParser::toStringOperator);
+
   private static final Parser OPERATOR = EQ.seq(EQ).or(GT.seq(EQ.optional())).or(LT.seq(EQ.optional())).or(BANG.seq(EQ)).flatten().trim()
     .<String, Operator>map(FilterParser::toOperator);
 
@@ -123,12 +149,14 @@ final class FilterParser extends GrammarDefinition {
 
   @SuppressWarnings("unchecked")
   public FilterParser() {
-    def(VALUE, STRING.or(DECIMAL).or(BOOLEAN).or(INTEGER).or(NULL));
+    def(VALUE, LITERAL.or(NULL));
     def(BOOLEAN_EXPRESSION, BANG.optional().seq(ID));
     def(SINGLE_EXPRESSION, ID.seq(OPERATOR).seq(ref(VALUE)));
+    def(PATTERN_EXPRESSION, ID.seq(STRING_OPERATOR).seq(STRING));
+    def(IN_EXPRESSION, ID.seq(IN).seq(LEFTPARENT.trim()).seq(LITERALS).seq(RIGHTPARENT.trim()));
     def(NOT_EXPRESSION, BANG.seq(LEFTPARENT).seq(ref(START)).seq(RIGHTPARENT));
     def(PAREN_EXPRESSION, LEFTPARENT.seq(ref(START)).seq(RIGHTPARENT));
-    def(EXPRESSION, ref(NOT_EXPRESSION).or(ref(PAREN_EXPRESSION)).or(ref(SINGLE_EXPRESSION)).or(ref(BOOLEAN_EXPRESSION)));
+    def(EXPRESSION, ref(NOT_EXPRESSION).or(ref(PAREN_EXPRESSION)).or(ref(IN_EXPRESSION)).or(ref(PATTERN_EXPRESSION)).or(ref(SINGLE_EXPRESSION)).or(ref(BOOLEAN_EXPRESSION)));
     def(START, ref(EXPRESSION).seq(LOGIC.seq(ref(EXPRESSION)).star()));
 
     action(BOOLEAN_EXPRESSION, (List<Object> result) -> {
@@ -144,6 +172,18 @@ final class FilterParser extends GrammarDefinition {
         var value = result.get(2);
         return new Condition(column, operator, value);
       });
+    action(IN_EXPRESSION, (List<Object> result) -> {
+        var column = (String) result.get(0);
+        var not = (Boolean) result.get(1);
+        var values = (List<Object>) result.get(3);
+        return new InCondition(column, not, values(values));
+      });
+    action(PATTERN_EXPRESSION, (List<Object> result) -> {
+        var column = (String) result.get(0);
+        var operator = (StringOperator) result.get(1);
+        var pattern = (String) result.get(2);
+        return new PatternCondition(column, operator, pattern);
+      });
     action(NOT_EXPRESSION, (List<Object> result) -> {
         var inner = (Expr) result.get(2);
         return new NotExpression(inner);
@@ -164,7 +204,34 @@ final class FilterParser extends GrammarDefinition {
     GREATER_THAN,
     LOWER_THAN,
     GREATER_THAN_EQUAL,
-    LOWER_THAN_EQUAL
+    LOWER_THAN_EQUAL;
+
+    // the same inverse used by parquet to remove not from the predicates
+    Operator negate() {
+      return switch (this) {
+        case EQUAL -> NOT_EQUAL;
+        case NOT_EQUAL -> EQUAL;
+        case GREATER_THAN -> LOWER_THAN_EQUAL;
+        case LOWER_THAN -> GREATER_THAN_EQUAL;
+        case GREATER_THAN_EQUAL -> LOWER_THAN;
+        case LOWER_THAN_EQUAL -> GREATER_THAN;
+      };
+    }
+  }
+
+  enum StringOperator {
+    STARTS,
+    LIKE,
+    REGEX;
+
+    PatternPredicate predicate(String pattern) {
+      return switch (this) {
+        case STARTS -> PatternPredicate.startsWith(pattern);
+        case LIKE -> PatternPredicate.like(pattern);
+        // strings keep their escapes, so \\ is a single backslash in the regex
+        case REGEX -> PatternPredicate.regex(pattern.replace("\\\\", "\\"));
+      };
+    }
   }
 
   enum Logic {
@@ -175,6 +242,8 @@ final class FilterParser extends GrammarDefinition {
   sealed interface Expr {
 
     record Condition(String column, Operator operator, Object value) implements Expr { }
+    record InCondition(String column, boolean not, List<Object> values) implements Expr { }
+    record PatternCondition(String column, StringOperator operator, String pattern) implements Expr { }
     record Expression(Expr left, Logic operator, Expr right) implements Expr { }
     record NotExpression(Expr inner) implements Expr { }
     record NullExpression() implements Expr { }
@@ -200,6 +269,37 @@ final class FilterParser extends GrammarDefinition {
             default -> throw new IllegalArgumentException("not supported: " + columnDescription);
           };
         }
+        case InCondition(var column, var not, var values) -> {
+          String[] path = column.split("\\.");
+          if (!schema.containsPath(path)) {
+            throw new IllegalArgumentException("field not exists: " + column);
+          }
+
+          var columnDescription = schema.getColumnDescription(path);
+          var type = columnDescription.getPrimitiveType().getPrimitiveTypeName();
+
+          yield (TypedExpr<T>) switch (type) {
+            case INT32 -> new TypedInCondition<>(column, type, not, asSet(values, FilterParser::asInt));
+            case INT64 -> new TypedInCondition<>(column, type, not, asSet(values, FilterParser::asLong));
+            case FLOAT -> new TypedInCondition<>(column, type, not, asSet(values, FilterParser::asFloat));
+            case DOUBLE -> new TypedInCondition<>(column, type, not, asSet(values, FilterParser::asDouble));
+            case BOOLEAN -> new TypedInCondition<>(column, type, not, asSet(values, FilterParser::asBoolean));
+            case BINARY -> new TypedInCondition<>(column, type, not, asSet(values, value -> asBinary(asString(value))));
+            default -> throw new IllegalArgumentException("not supported: " + columnDescription);
+          };
+        }
+        case PatternCondition(var column, var operator, var pattern) -> {
+          String[] path = column.split("\\.");
+          if (!schema.containsPath(path)) {
+            throw new IllegalArgumentException("field not exists: " + column);
+          }
+
+          var columnDescription = schema.getColumnDescription(path);
+          if (columnDescription.getPrimitiveType().getPrimitiveTypeName() != PrimitiveTypeName.BINARY) {
+            throw new IllegalArgumentException("not supported: " + columnDescription);
+          }
+          yield (TypedExpr<T>) new TypedPatternCondition(column, operator.predicate(pattern));
+        }
         case Expression(var left, var operator, var right) ->
           new TypedExpression<T>(left.apply(schema), operator, right.apply(schema));
         case NotExpression(var inner) -> new TypedNotExpression<>(inner.apply(schema));
@@ -210,6 +310,8 @@ final class FilterParser extends GrammarDefinition {
     default Set<String> columns() {
       return switch(this) {
         case Condition(var column, var _, var _) -> Set.of(column);
+        case InCondition(var column, var _, var _) -> Set.of(column);
+        case PatternCondition(var column, var _, var _) -> Set.of(column);
         case Expression(var left, var _, var right) -> merge(left.columns(), right.columns());
         case NotExpression(var inner) -> inner.columns();
         case NullExpression _ -> Set.of();
@@ -231,6 +333,10 @@ final class FilterParser extends GrammarDefinition {
     record DoubleCondition(String column, Operator operator, @Nullable Double value) implements TypedExpr<Double> { }
     record StringCondition(String column, Operator operator, @Nullable String value) implements TypedExpr<String> { }
     record BooleanCondition(String column, Operator operator, @Nullable Boolean value) implements TypedExpr<Boolean> { }
+    // values are kept in a hash set, parquet checks them with contains
+    record TypedInCondition<T extends Comparable<T>>(String column, PrimitiveTypeName type, boolean not, Set<T> values) implements TypedExpr<T> { }
+    // the pattern is compiled once, and shared by the filters of every row group, page and row
+    record TypedPatternCondition(String column, PatternPredicate predicate) implements TypedExpr<String> { }
     record TypedExpression<T>(TypedExpr<T> left, Logic operator, TypedExpr<T> right) implements TypedExpr<T> { }
     record TypedNotExpression<T>(TypedExpr<T> inner) implements TypedExpr<T> { }
     record TypedNullExpression<T>() implements TypedExpr<T> { }
@@ -284,8 +390,14 @@ final class FilterParser extends GrammarDefinition {
           switch (operator) {
             case EQUAL -> eq(binaryColumn(column), asBinary(value));
             case NOT_EQUAL -> notEq(binaryColumn(column), asBinary(value));
-            default -> throw new IllegalArgumentException();
+            case GREATER_THAN -> gt(binaryColumn(column), asBinary(value));
+            case LOWER_THAN -> lt(binaryColumn(column), asBinary(value));
+            case GREATER_THAN_EQUAL -> gtEq(binaryColumn(column), asBinary(value));
+            case LOWER_THAN_EQUAL -> ltEq(binaryColumn(column), asBinary(value));
           };
+        case TypedInCondition<?>(var column, var type, var not, var values) -> inPredicate(column, type, not, values);
+        case TypedPatternCondition(var column, var predicate) ->
+          userDefined(binaryColumn(column), predicate);
         case TypedExpression<T>(var left, var operator, var right) ->
           switch (operator) {
             case AND -> and(left.convert(), right.convert());
@@ -295,6 +407,19 @@ final class FilterParser extends GrammarDefinition {
         case TypedNullExpression<T> _ -> null;
       };
     }
+
+    @SuppressWarnings("unchecked")
+    private static FilterPredicate inPredicate(String column, PrimitiveTypeName type, boolean not, Set<?> values) {
+      return switch (type) {
+        case INT32 -> not ? notIn(intColumn(column), (Set<Integer>) values) : in(intColumn(column), (Set<Integer>) values);
+        case INT64 -> not ? notIn(longColumn(column), (Set<Long>) values) : in(longColumn(column), (Set<Long>) values);
+        case FLOAT -> not ? notIn(floatColumn(column), (Set<Float>) values) : in(floatColumn(column), (Set<Float>) values);
+        case DOUBLE -> not ? notIn(doubleColumn(column), (Set<Double>) values) : in(doubleColumn(column), (Set<Double>) values);
+        case BOOLEAN -> not ? notIn(booleanColumn(column), (Set<Boolean>) values) : in(booleanColumn(column), (Set<Boolean>) values);
+        case BINARY -> not ? notIn(binaryColumn(column), (Set<Binary>) values) : in(binaryColumn(column), (Set<Binary>) values);
+        default -> throw new IllegalArgumentException("not supported: " + type);
+      };
+    }
   }
 
   Expr parse(@Nullable String filter) {
@@ -315,6 +440,20 @@ final class FilterParser extends GrammarDefinition {
     return result;
   }
 
+  @SuppressWarnings("unchecked")
+  private static List<Object> values(List<Object> result) {
+    var values = new ArrayList<Object>();
+    values.add(result.get(0));
+    for (var next : (List<List<Object>>) result.get(1)) {
+      values.add(next.get(1));
+    }
+    return values;
+  }
+
+  private static <T> Set<T> asSet(List<Object> values, Function<Object, @Nullable T> cast) {
+    return values.stream().map(cast).collect(toUnmodifiableSet());
+  }
+
   private static FilterParser.Operator toOperator(String operator) {
     return switch (operator) {
       case "==" -> Operator.EQUAL;
@@ -327,6 +466,15 @@ final class FilterParser extends GrammarDefinition {
     };
   }
 
+  private static FilterParser.StringOperator toStringOperator(String operator) {
+    return switch (operator) {
+      case "starts" -> StringOperator.STARTS;
+      case "like" -> StringOperator.LIKE;
+      case "=~" -> StringOperator.REGEX;
+      default -> throw new IllegalArgumentException("operator not supported: `" + operator + "`");
+    };
+  }
+
   private static FilterParser.Logic toLogic(String operator) {
     return switch (operator) {
       case "&&" -> Logic.AND;
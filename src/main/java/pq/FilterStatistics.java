@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.io.api.Binary;
+import org.jspecify.annotations.Nullable;
+
+import pq.FilterParser.Logic;
+import pq.FilterParser.Operator;
+import pq.FilterParser.TypedExpr;
+import pq.FilterParser.TypedExpr.BooleanCondition;
+import pq.FilterParser.TypedExpr.DoubleCondition;
+import pq.FilterParser.TypedExpr.FloatCondition;
+import pq.FilterParser.TypedExpr.IntCondition;
+import pq.FilterParser.TypedExpr.LongCondition;
+import pq.FilterParser.TypedExpr.StringCondition;
+import pq.FilterParser.TypedExpr.TypedExpression;
+import pq.FilterParser.TypedExpr.TypedInCondition;
+import pq.FilterParser.TypedExpr.TypedNotExpression;
+import pq.FilterParser.TypedExpr.TypedNullExpression;
+import pq.FilterParser.TypedExpr.TypedPatternCondition;
+
+// decides using min, max and null count if all the rows of a row group or a page
+// match the filter, none of them, or it's not possible to know without reading them.
+// Not is pushed down to the conditions the same way parquet does before evaluating
+// the filter, so nulls match the same conditions here and in the record filter.
+final class FilterStatistics {
+
+  enum Match {
+    ALL,
+    NONE,
+    SOME
+  }
+
+  private FilterStatistics() {}
+
+  static Match classify(TypedExpr<?> expr, Map<String, Statistics<?>> statistics, long rowCount) {
+    return classify(expr, statistics, rowCount, false);
+  }
+
+  private static Match classify(TypedExpr<?> expr, Map<String, Statistics<?>> statistics, long rowCount, boolean negate) {
+    return switch (expr) {
+      case IntCondition(var column, var operator, var value) ->
+        compare(operator(operator, negate), value, statistics.get(column), rowCount);
+      case LongCondition(var column, var operator, var value) ->
+        compare(operator(operator, negate), value, statistics.get(column), rowCount);
+      case FloatCondition(var column, var operator, var value) ->
+        compare(operator(operator, negate), value, statistics.get(column), rowCount);
+      case DoubleCondition(var column, var operator, var value) ->
+        compare(operator(operator, negate), value, statistics.get(column), rowCount);
+      case BooleanCondition(var column, var operator, var value) ->
+        compare(operator(operator, negate), value, statistics.get(column), rowCount);
+      case StringCondition(var column, var operator, var value) ->
+        compare(operator(operator, negate), value != null ? Binary.fromString(value) : null, statistics.get(column), rowCount);
+      case TypedInCondition<?>(var column, var _, var not, var values) -> {
+        var match = in(values, statistics.get(column), rowCount);
+        // nulls only match not in, so it's the complement of in
+        yield not != negate ? invert(match) : match;
+      }
+      case TypedPatternCondition(var column, var predicate) -> {
+        var match = matches(predicate, statistics.get(column), rowCount);
+        yield negate ? invert(match) : match;
+      }
+      case TypedExpression<?>(var left, var operator, var right) -> {
+        var first = classify(left, statistics, rowCount, negate);
+        var second = classify(right, statistics, rowCount, negate);
+        yield (operator == Logic.AND) != negate ? and(first, second) : or(first, second);
+      }
+      case TypedNotExpression<?>(var inner) -> classify(inner, statistics, rowCount, !negate);
+      case TypedNullExpression<?> _ -> negate ? Match.NONE : Match.ALL;
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T extends Comparable<T>> Match compare(
+      Operator operator, @Nullable T value, @Nullable Statistics<?> statistics, long rowCount) {
+    if (statistics == null || statistics.isEmpty()) {
+      return Match.SOME;
+    }
+    boolean allNulls = statistics.isNumNullsSet() && statistics.getNumNulls() == rowCount;
+    boolean noNulls = statistics.isNumNullsSet() && statistics.getNumNulls() == 0;
+    if (value == null) {
+      return switch (operator) {
+        case EQUAL -> noNulls ? Match.NONE : allNulls ? Match.ALL : Match.SOME;
+        case NOT_EQUAL -> allNulls ? Match.NONE : noNulls ? Match.ALL : Match.SOME;
+        default -> Match.SOME;
+      };
+    }
+    if (!statistics.hasNonNullValue()) {
+      // nulls only match not equal to a value
+      if (!allNulls) {
+        return Match.SOME;
+      }
+      return operator == Operator.NOT_EQUAL ? Match.ALL : Match.NONE;
+    }
+    var typed = (Statistics<T>) statistics;
+    int min = typed.compareMinToValue(value);
+    int max = typed.compareMaxToValue(value);
+    return switch (operator) {
+      case EQUAL -> min > 0 || max < 0 ? Match.NONE : min == 0 && max == 0 && noNulls ? Match.ALL : Match.SOME;
+      case NOT_EQUAL -> min > 0 || max < 0 ? Match.ALL : min == 0 && max == 0 && noNulls ? Match.NONE : Match.SOME;
+      case LOWER_THAN -> min >= 0 ? Match.NONE : max < 0 && noNulls ? Match.ALL : Match.SOME;
+      case LOWER_THAN_EQUAL -> min > 0 ? Match.NONE : max <= 0 && noNulls ? Match.ALL : Match.SOME;
+      case GREATER_THAN -> max <= 0 ? Match.NONE : min > 0 && noNulls ? Match.ALL : Match.SOME;
+      case GREATER_THAN_EQUAL -> max < 0 ? Match.NONE : min >= 0 && noNulls ? Match.ALL : Match.SOME;
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T extends Comparable<T>> Match in(Set<T> values, @Nullable Statistics<?> statistics, long rowCount) {
+    if (statistics == null || statistics.isEmpty()) {
+      return Match.SOME;
+    }
+    boolean allNulls = statistics.isNumNullsSet() && statistics.getNumNulls() == rowCount;
+    boolean noNulls = statistics.isNumNullsSet() && statistics.getNumNulls() == 0;
+    if (!statistics.hasNonNullValue()) {
+      return allNulls ? Match.NONE : Match.SOME;
+    }
+    var typed = (Statistics<T>) statistics;
+    boolean inRange = false;
+    for (var value : values) {
+      int min = typed.compareMinToValue(value);
+      int max = typed.compareMaxToValue(value);
+      if (min == 0 && max == 0) {
+        return noNulls ? Match.ALL : Match.SOME;
+      }
+      inRange |= min <= 0 && max >= 0;
+    }
+    return inRange ? Match.SOME : Match.NONE;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Match matches(PatternPredicate predicate, @Nullable Statistics<?> statistics, long rowCount) {
+    if (statistics == null || statistics.isEmpty()) {
+      return Match.SOME;
+    }
+    boolean allNulls = statistics.isNumNullsSet() && statistics.getNumNulls() == rowCount;
+    boolean noNulls = statistics.isNumNullsSet() && statistics.getNumNulls() == 0;
+    if (!statistics.hasNonNullValue()) {
+      return allNulls ? Match.NONE : Match.SOME;
+    }
+    var typed = (Statistics<Binary>) statistics;
+    if (predicate.canDrop(typed.genericGetMin(), typed.genericGetMax())) {
+      return Match.NONE;
+    }
+    return predicate.keepAll(typed.genericGetMin(), typed.genericGetMax()) && noNulls ? Match.ALL : Match.SOME;
+  }
+
+  private static Match invert(Match match) {
+    return switch (match) {
+      case ALL -> Match.NONE;
+      case NONE -> Match.ALL;
+      case SOME -> Match.SOME;
+    };
+  }
+
+  private static Operator operator(Operator operator, boolean negate) {
+    return negate ? operator.negate() : operator;
+  }
+
+  private static Match and(Match left, Match right) {
+    if (left == Match.NONE || right == Match.NONE) {
+      return Match.NONE;
+    }
+    return left == Match.ALL && right == Match.ALL ? Match.ALL : Match.SOME;
+  }
+
+  private static Match or(Match left, Match right) {
+    if (left == Match.ALL || right == Match.ALL) {
+      return Match.ALL;
+    }
+    return left == Match.NONE && right == Match.NONE ? Match.NONE : Match.SOME;
+  }
+}
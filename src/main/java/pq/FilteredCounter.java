@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.filter2.compat.FilterCompat.Filter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.internal.column.columnindex.ColumnIndex;
+import org.apache.parquet.internal.filter2.columnindex.RowRanges;
+import org.apache.parquet.schema.MessageType;
+import org.jspecify.annotations.Nullable;
+
+import pq.FilterParser.TypedExpr;
+import pq.internal.ColumnarBatchReader;
+import pq.internal.RowGroupReader;
+import pq.internal.TextBuffer;
+
+// row groups, and pages when the filter uses a single column, are classified
+// with the statistics: the ones where all rows match are counted from the
+// metadata, the ones where none match are skipped, and only the rest are read
+final class FilteredCounter {
+
+  private final ParquetFileReader reader;
+  private final TypedExpr<?> predicate;
+  private final MessageType projection;
+  private final Filter filter;
+  private final Set<String> columns;
+  private final boolean flat;
+  private final boolean columnIndexes;
+
+  FilteredCounter(ParquetFileReader reader, TypedExpr<?> predicate, MessageType projection,
+      Filter filter, Set<String> columns, boolean columnIndexes) {
+    this.reader = requireNonNull(reader);
+    this.predicate = requireNonNull(predicate);
+    this.projection = requireNonNull(projection);
+    this.filter = requireNonNull(filter);
+    this.columns = Set.copyOf(columns);
+    this.columnIndexes = columnIndexes;
+    // statistics count values, only in flat columns they are the same as rows
+    var schema = reader.getFileMetaData().getSchema();
+    this.flat = columns.stream().allMatch(column -> schema.getColumnDescription(column.split("\\.")).getMaxRepetitionLevel() == 0);
+  }
+
+  long count() throws IOException {
+    var blocks = reader.getRowGroups();
+    long count = 0;
+    try (var rows = counter()) {
+      for (int rowGroup = 0; rowGroup < blocks.size(); rowGroup++) {
+        var block = blocks.get(rowGroup);
+        count += switch (classify(chunkStatistics(block), block.getRowCount())) {
+          case ALL -> block.getRowCount();
+          case NONE -> 0;
+          case SOME -> countPages(rows, rowGroup, block);
+        };
+      }
+    }
+    return count;
+  }
+
+  private long countPages(RowGroupCounter rows, int rowGroup, BlockMetaData block) throws IOException {
+    var chunk = flat && columnIndexes && columns.size() == 1 ? chunk(block, columns.iterator().next()) : null;
+    var columnIndex = chunk != null ? reader.readColumnIndex(chunk) : null;
+    var offsetIndex = chunk != null ? reader.readOffsetIndex(chunk) : null;
+    if (chunk == null || columnIndex == null || offsetIndex == null) {
+      return rows.count(rowGroup, null);
+    }
+    long count = 0;
+    var undecided = IntStream.builder();
+    boolean read = false;
+    for (int page = 0; page < offsetIndex.getPageCount(); page++) {
+      long pageRows = offsetIndex.getLastRowIndex(page, block.getRowCount()) - offsetIndex.getFirstRowIndex(page) + 1;
+      var statistics = Map.<String, Statistics<?>>of(
+          chunk.getPath().toDotString(), pageStatistics(chunk, columnIndex, page, pageRows));
+      switch (classify(statistics, pageRows)) {
+        case ALL -> count += pageRows;
+        case NONE -> { }
+        case SOME -> {
+          undecided.add(page);
+          read = true;
+        }
+      }
+    }
+    if (read) {
+      count += rows.count(rowGroup, RowRanges.create(block.getRowCount(), undecided.build().iterator(), offsetIndex));
+    }
+    return count;
+  }
+
+  // the filter columns are evaluated in batches when possible, without assembling records
+  private RowGroupCounter counter() {
+    if (ColumnarBatchReader.isSupported(projection)) {
+      return new BatchCounter(ColumnarBatchReader.seekable(reader, projection, ColumnarBatchReader.DEFAULT_BATCH_SIZE),
+          new BatchFilter(predicate, projection, ColumnarBatchReader.DEFAULT_BATCH_SIZE));
+    }
+    return new RecordCounter(RowGroupReader.buffer(reader, projection, filter));
+  }
+
+  private FilterStatistics.Match classify(Map<String, Statistics<?>> statistics, long rowCount) {
+    if (!flat) {
+      return FilterStatistics.Match.SOME;
+    }
+    return FilterStatistics.classify(predicate, statistics, rowCount);
+  }
+
+  private Map<String, Statistics<?>> chunkStatistics(BlockMetaData block) {
+    var statistics = new HashMap<String, Statistics<?>>();
+    for (var chunk : block.getColumns()) {
+      var column = chunk.getPath().toDotString();
+      if (columns.contains(column) && chunk.getStatistics() != null) {
+        statistics.put(column, chunk.getStatistics());
+      }
+    }
+    return statistics;
+  }
+
+  @Nullable
+  private static ColumnChunkMetaData chunk(BlockMetaData block, String column) {
+    for (var chunk : block.getColumns()) {
+      if (chunk.getPath().toDotString().equals(column)) {
+        return chunk;
+      }
+    }
+    return null;
+  }
+
+  // a null page only has nulls, and has no min and max values
+  private static Statistics<?> pageStatistics(ColumnChunkMetaData chunk, ColumnIndex columnIndex, int page, long pageRows) {
+    var builder = Statistics.getBuilderForReading(chunk.getPrimitiveType());
+    var nullCounts = columnIndex.getNullCounts();
+    if (columnIndex.getNullPages().get(page)) {
+      builder.withNumNulls(pageRows);
+    } else {
+      builder.withMin(bytes(columnIndex.getMinValues().get(page)));
+      builder.withMax(bytes(columnIndex.getMaxValues().get(page)));
+      if (nullCounts != null && !nullCounts.isEmpty()) {
+        builder.withNumNulls(nullCounts.get(page));
+      }
+    }
+    return builder.build();
+  }
+
+  private static byte[] bytes(ByteBuffer buffer) {
+    var bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return bytes;
+  }
+
+  // counts the rows of a row group that match the filter, only the given ranges if any
+  private sealed interface RowGroupCounter extends Closeable {
+    long count(int rowGroup, @Nullable RowRanges ranges) throws IOException;
+  }
+
+  // rows are only counted, so they are written to a reused buffer instead of json objects
+  private record RecordCounter(RowGroupReader<TextBuffer> reader) implements RowGroupCounter {
+
+    @Override
+    public long count(int rowGroup, @Nullable RowRanges ranges) throws IOException {
+      if (ranges != null) {
+        reader.seek(rowGroup, ranges);
+      } else {
+        reader.seek(rowGroup);
+      }
+      long count = 0;
+      while (reader.read() != null) {
+        count++;
+      }
+      return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+      reader.close();
+    }
+  }
+
+  private record BatchCounter(ColumnarBatchReader reader, BatchFilter filter) implements RowGroupCounter {
+
+    @Override
+    public long count(int rowGroup, @Nullable RowRanges ranges) throws IOException {
+      if (ranges != null) {
+        reader.seek(rowGroup, ranges);
+      } else {
+        reader.seek(rowGroup);
+      }
+      long count = 0;
+      for (var batch = reader.read(); batch != null; batch = reader.read()) {
+        count += filter.count(batch);
+      }
+      return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+      reader.close();
+    }
+  }
+}
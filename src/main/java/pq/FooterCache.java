@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.InputFile;
+import org.jspecify.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+final class FooterCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(FooterCache.class);
+
+  private static final long MAX_SIZE = 64 * 1024 * 1024;
+
+  // approximated size of the entries, updated on each write and recalculated when evicting
+  private static final String SIZE = ".size";
+
+  private final Path directory;
+  private final long maxSize;
+
+  FooterCache(Path directory) {
+    this(directory, MAX_SIZE);
+  }
+
+  FooterCache(Path directory, long maxSize) {
+    this.directory = requireNonNull(directory);
+    this.maxSize = maxSize;
+  }
+
+  ParquetMetadata read(File file, InputFile input) throws IOException {
+    var entry = directory.resolve(key(file));
+    var cached = tryRead(entry);
+    if (cached != null) {
+      return cached;
+    }
+    var footer = ParquetFooter.readBytes(input);
+    var metadata = ParquetFooter.parse(footer);
+    tryWrite(entry, footer);
+    return metadata;
+  }
+
+  @Nullable
+  private ParquetMetadata tryRead(Path entry) {
+    if (!Files.isRegularFile(entry)) {
+      return null;
+    }
+    try {
+      var metadata = ParquetFooter.parse(Files.readAllBytes(entry));
+      Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+      return metadata;
+    } catch (IOException | RuntimeException e) {
+      LOGGER.warn("invalid cache entry {}", entry, e);
+      deleteQuietly(entry);
+      return null;
+    }
+  }
+
+  private void tryWrite(Path entry, byte[] footer) {
+    try {
+      Files.createDirectories(directory);
+      var temp = Files.createTempFile(directory, "footer", ".tmp");
+      Files.write(temp, footer);
+      Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      long size = readSize() + footer.length;
+      if (size > maxSize) {
+        size = evict();
+      }
+      writeSize(size);
+    } catch (IOException | UncheckedIOException e) {
+      LOGGER.warn("cannot write cache entry {}", entry, e);
+    }
+  }
+
+  // other processes can write at the same time, so the size can be off,
+  // but it's fixed the next time the entries are evicted
+  private long readSize() {
+    try {
+      return Long.parseLong(Files.readString(directory.resolve(SIZE), UTF_8).trim());
+    } catch (IOException | NumberFormatException e) {
+      return Long.MAX_VALUE / 2;
+    }
+  }
+
+  private void writeSize(long size) throws IOException {
+    var temp = Files.createTempFile(directory, "size", ".tmp");
+    Files.writeString(temp, String.valueOf(size), UTF_8);
+    Files.move(temp, directory.resolve(SIZE), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private long evict() throws IOException {
+    List<Path> entries;
+    try (var files = Files.list(directory)) {
+      entries = files.filter(Files::isRegularFile)
+          .filter(path -> !path.getFileName().toString().equals(SIZE))
+          .sorted(Comparator.comparing(FooterCache::lastModifiedTime).reversed())
+          .toList();
+    }
+    long total = 0;
+    long kept = 0;
+    for (var entry : entries) {
+      long size = Files.size(entry);
+      total += size;
+      if (total > maxSize) {
+        deleteQuietly(entry);
+      } else {
+        kept += size;
+      }
+    }
+    return kept;
+  }
+
+  private static String key(File file) throws IOException {
+    var key = file.getCanonicalPath() + "\0" + file.length() + "\0" + file.lastModified();
+    try {
+      var digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(UTF_8));
+      return HexFormat.of().formatHex(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static FileTime lastModifiedTime(Path path) {
+    try {
+      return Files.getLastModifiedTime(path);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void deleteQuietly(Path path) {
+    try {
+      Files.deleteIfExists(path);
+    } catch (IOException e) {
+      LOGGER.warn("cannot delete cache entry {}", path, e);
+    }
+  }
+}
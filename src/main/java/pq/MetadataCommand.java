@@ -4,13 +4,12 @@
  */
 package pq;
 
-import static pq.App.createFileReader;
+import static pq.App.footer;
 
 import java.io.File;
-import java.io.IOException;
-import java.io.UncheckedIOException;
 
-import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
 
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
@@ -28,29 +27,37 @@ final class MetadataCommand implements Runnable {
 
   @Override
   public void run() {
-    try (var reader = createFileReader(file, FilterCompat.NOOP)) {
-      reader.getFileMetaData().getKeyValueMetaData()
-        .forEach((k, v) -> System.out.println("\"" + k + "\":" + v));
-      System.out.println("\"createdBy\":" + reader.getFileMetaData().getCreatedBy());
-      System.out.println("\"count\":" + reader.getRecordCount());
-
-      if (showBlocks) {
-        for (var block : reader.getFooter().getBlocks()) {
-          System.out.println("\"block\":" + block.getOrdinal() + ", \"rowCount\":" + block.getRowCount());
-          for (var column : block.getColumns()) {
-            System.out.println(
-                "\"column\":" + column.getPath() + "," +
-                "\"type\":\"" + column.getPrimitiveType() + "\"," +
-                "\"index\":" + (column.getColumnIndexReference() != null) + "," +
-                "\"dictionary\":" + column.hasDictionaryPage() + "," +
-                "\"encrypted\":" + column.isEncrypted() + "," +
-                "\"stats\":[" + column.getStatistics() + "]"
-            );
-          }
+    var footer = footer(file);
+    var fileMetaData = footer.getFileMetaData();
+    fileMetaData.getKeyValueMetaData()
+      .forEach((k, v) -> System.out.println("\"" + k + "\":" + v));
+    System.out.println("\"createdBy\":" + fileMetaData.getCreatedBy());
+    System.out.println("\"count\":" + footer.getBlocks().stream().mapToLong(BlockMetaData::getRowCount).sum());
+
+    if (showBlocks) {
+      for (var block : footer.getBlocks()) {
+        System.out.println("\"block\":" + block.getOrdinal() + ", \"rowCount\":" + block.getRowCount());
+        for (var column : block.getColumns()) {
+          System.out.println(
+              "\"column\":" + column.getPath() + "," +
+              "\"type\":\"" + column.getPrimitiveType() + "\"," +
+              "\"index\":" + (column.getColumnIndexReference() != null) + "," +
+              "\"dictionary\":" + column.hasDictionaryPage() + "," +
+              "\"bloomFilter\":" + (column.getBloomFilterOffset() >= 0) + "," +
+              "\"bloomFilterSize\":" + bloomFilterSize(column) + "," +
+              "\"encrypted\":" + column.isEncrypted() + "," +
+              "\"stats\":[" + column.getStatistics() + "]"
+          );
         }
       }
-    } catch (IOException e) {
-      throw new UncheckedIOException(e);
     }
   }
+
+  // older writers only stored the offset of the bloom filter, not its size
+  private static String bloomFilterSize(ColumnChunkMetaData column) {
+    if (column.getBloomFilterOffset() < 0) {
+      return "0";
+    }
+    return column.getBloomFilterLength() >= 0 ? String.valueOf(column.getBloomFilterLength()) : "null";
+  }
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import org.jspecify.annotations.Nullable;
+
+import pq.internal.TextBuffer;
+
+// rows are written to a large buffer, the underlying stream is only written
+// when the buffer is full or the sink is closed
+final class OutputSink implements Closeable {
+
+  private static final int BUFFER_SIZE = 1024 * 1024;
+  private static final byte[] NEW_LINE = System.lineSeparator().getBytes(UTF_8);
+
+  private final OutputStream output;
+  private final boolean owned;
+
+  private OutputSink(OutputStream output, boolean owned) {
+    this.output = new BufferedOutputStream(requireNonNull(output), BUFFER_SIZE);
+    this.owned = owned;
+  }
+
+  // System.out is not closed, it's only flushed
+  static OutputSink open(@Nullable File file) throws IOException {
+    if (file == null) {
+      return new OutputSink(System.out, false);
+    }
+    var channel = FileChannel.open(file.toPath(),
+        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    return new OutputSink(Channels.newOutputStream(channel), true);
+  }
+
+  void print(String value) {
+    write(value.getBytes(UTF_8));
+  }
+
+  void println(String value) {
+    print(value);
+    println();
+  }
+
+  void println(TextBuffer value) {
+    try {
+      value.writeTo(output);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    println();
+  }
+
+  void println() {
+    write(NEW_LINE);
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (owned) {
+      output.close();
+    } else {
+      output.flush();
+    }
+  }
+
+  private void write(byte[] bytes) {
+    try {
+      output.write(bytes);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq;
+
+import static java.util.Objects.requireNonNull;
+
+import com.eclipsesource.json.JsonValue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.parquet.filter2.compat.FilterCompat.Filter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.schema.MessageType;
+import org.jspecify.annotations.Nullable;
+
+import pq.internal.RowGroupReader;
+
+// row groups are decoded in parallel and their rows are handed over in small
+// chunks through bounded queues, so a worker waits when the reader falls behind
+// and only a few chunks of each row group are in memory, whatever its size
+final class ParallelReader implements Iterator<Tuple>, Closeable {
+
+  static final int CHUNK_SIZE = 256;
+  static final int CHUNKS = 2;
+
+  private final List<ParquetFileReader> files;
+  private final BlockingQueue<RowGroupReader<JsonValue>> workers;
+  private final ExecutorService executor;
+  // ordered, a queue for each row group read in turn, unordered, one for all
+  private final Deque<BlockingQueue<Chunk>> pending = new ArrayDeque<>();
+  private final BlockingQueue<Chunk> shared;
+  private final int rowGroups;
+  private final int window;
+  private final boolean ordered;
+
+  private Iterator<Tuple> current = Collections.emptyIterator();
+  private int submitted;
+  private int inFlight;
+
+  ParallelReader(List<ParquetFileReader> files, MessageType projection, Filter filter, boolean ordered) {
+    this.files = List.copyOf(files);
+    this.workers = new ArrayBlockingQueue<>(files.size());
+    for (var file : files) {
+      workers.add(RowGroupReader.json(file, projection, filter));
+    }
+    this.executor = Executors.newFixedThreadPool(files.size(), Thread.ofPlatform().daemon().name("pq-worker-", 0).factory());
+    this.shared = new ArrayBlockingQueue<>(files.size() * CHUNKS);
+    this.rowGroups = files.getFirst().getRowGroups().size();
+    this.window = files.size() * 2;
+    this.ordered = ordered;
+    while (submitted < rowGroups && inFlight < window) {
+      submit();
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    try {
+      while (!current.hasNext()) {
+        if (inFlight == 0) {
+          return false;
+        }
+        var chunk = ordered ? requireNonNull(pending.peekFirst()).take() : shared.take();
+        var error = chunk.error();
+        if (error instanceof IOException io) {
+          throw new UncheckedIOException(io);
+        }
+        if (error instanceof RuntimeException re) {
+          throw re;
+        }
+        if (chunk.last()) {
+          if (ordered) {
+            pending.pollFirst();
+          }
+          inFlight--;
+          if (submitted < rowGroups) {
+            submit();
+          }
+        }
+        current = chunk.rows().iterator();
+      }
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new UncheckedIOException(new InterruptedIOException("interrupted while waiting for next row group"));
+    }
+  }
+
+  @Override
+  public Tuple next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    return current.next();
+  }
+
+  @Override
+  public void close() throws IOException {
+    executor.shutdownNow();
+    executor.close();
+    for (var file : files) {
+      file.close();
+    }
+  }
+
+  private void submit() {
+    int rowGroup = submitted++;
+    BlockingQueue<Chunk> queue = ordered ? new ArrayBlockingQueue<>(CHUNKS) : shared;
+    if (ordered) {
+      pending.addLast(queue);
+    }
+    executor.execute(() -> decode(rowGroup, queue));
+    inFlight++;
+  }
+
+  private void decode(int rowGroup, BlockingQueue<Chunk> queue) {
+    try {
+      // there are as many workers as threads, so a worker is always available
+      var worker = workers.take();
+      try {
+        read(worker, rowGroup, queue);
+      } catch (IOException | RuntimeException e) {
+        queue.put(new Chunk(List.of(), true, e));
+      } finally {
+        workers.add(worker);
+      }
+    } catch (InterruptedException e) {
+      // the reader is closed
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void read(RowGroupReader<JsonValue> worker, int rowGroup, BlockingQueue<Chunk> queue)
+      throws IOException, InterruptedException {
+    worker.seek(rowGroup);
+    var rows = new ArrayList<Tuple>(CHUNK_SIZE);
+    for (var value = worker.read(); value != null; value = worker.read()) {
+      rows.add(new Tuple(worker.getCurrentRowIndex(), value));
+      if (rows.size() == CHUNK_SIZE) {
+        queue.put(new Chunk(rows, false, null));
+        rows = new ArrayList<>(CHUNK_SIZE);
+      }
+    }
+    queue.put(new Chunk(rows, true, null));
+  }
+
+  // the last chunk of a row group ends it, with the error that stopped it if any
+  private record Chunk(List<Tuple> rows, boolean last, @Nullable Exception error) { }
+}
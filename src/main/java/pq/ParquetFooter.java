@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.apache.parquet.format.converter.ParquetMetadataConverter;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.InputFile;
+
+final class ParquetFooter {
+
+  private static final String MAGIC = "PAR1";
+  private static final String ENCRYPTED_MAGIC = "PARE";
+  private static final int TAIL_LENGTH = 8;
+
+  private ParquetFooter() { }
+
+  static ParquetMetadata read(InputFile input) throws IOException {
+    return parse(readBytes(input));
+  }
+
+  static ParquetMetadata parse(byte[] footer) throws IOException {
+    return new ParquetMetadataConverter().readParquetMetadata(
+        new ByteArrayInputStream(footer), ParquetMetadataConverter.NO_FILTER);
+  }
+
+  static byte[] readBytes(InputFile input) throws IOException {
+    long length = input.getLength();
+    if (length < MAGIC.length() + TAIL_LENGTH) {
+      throw new IOException("not a parquet file, too small: " + length);
+    }
+    try (var stream = input.newStream()) {
+      var tail = new byte[TAIL_LENGTH];
+      stream.seek(length - TAIL_LENGTH);
+      stream.readFully(tail);
+      var magic = new String(tail, 4, 4, US_ASCII);
+      if (ENCRYPTED_MAGIC.equals(magic)) {
+        throw new IOException("encrypted footers are not supported");
+      }
+      if (!MAGIC.equals(magic)) {
+        throw new IOException("not a parquet file, invalid magic number: " + magic);
+      }
+      int footerLength = ByteBuffer.wrap(tail, 0, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+      if (footerLength <= 0 || footerLength > length - TAIL_LENGTH - MAGIC.length()) {
+        throw new IOException("corrupted footer length: " + footerLength);
+      }
+      var footer = new byte[footerLength];
+      stream.seek(length - TAIL_LENGTH - footerLength);
+      stream.readFully(footer);
+      return footer;
+    }
+  }
+}
@@ -6,21 +6,51 @@ package pq;
 
 import static java.util.Objects.requireNonNull;
 
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
+import org.apache.parquet.bytes.ByteBufferAllocator;
 import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.ParquetFileRange;
 import org.apache.parquet.io.SeekableInputStream;
 
 final class ParquetInputFile implements InputFile {
 
+  static final int DEFAULT_MERGE_GAP = 64 * 1024;
+
+  private static final int MAX_MERGED_LENGTH = 32 * 1024 * 1024;
+
+  private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
   private final File file;
+  private final boolean mapped;
+  private final int mergeGap;
 
   ParquetInputFile(File file) {
+    this(file, false, DEFAULT_MERGE_GAP);
+  }
+
+  ParquetInputFile(File file, boolean mapped, int mergeGap) {
     this.file = requireNonNull(file);
+    this.mapped = mapped;
+    this.mergeGap = mergeGap;
   }
 
   @Override
@@ -30,7 +60,68 @@ final class ParquetInputFile implements InputFile {
 
   @Override
   public SeekableInputStream newStream() throws IOException {
-    return new SeekableInputStreamImpl(file);
+    if (mapped) {
+      return new MappedSeekableInputStream(file);
+    }
+    return new SeekableInputStreamImpl(file, mergeGap);
+  }
+
+  static List<MergedRange> coalesce(List<ParquetFileRange> ranges, int mergeGap) {
+    var sorted = new ArrayList<>(ranges);
+    sorted.sort(Comparator.comparingLong(ParquetFileRange::getOffset));
+    var result = new ArrayList<MergedRange>();
+    MergedRange current = null;
+    for (var range : sorted) {
+      if (current == null || !current.canMerge(range, mergeGap)) {
+        current = new MergedRange(range.getOffset());
+        result.add(current);
+      }
+      current.add(range);
+    }
+    return result;
+  }
+
+  static final class MergedRange {
+
+    private final long offset;
+    private final List<ParquetFileRange> ranges = new ArrayList<>();
+
+    private long end;
+
+    MergedRange(long offset) {
+      this.offset = offset;
+      this.end = offset;
+    }
+
+    long offset() {
+      return offset;
+    }
+
+    int length() {
+      return (int) (end - offset);
+    }
+
+    List<ParquetFileRange> ranges() {
+      return ranges;
+    }
+
+    boolean canMerge(ParquetFileRange range, int mergeGap) {
+      long gap = range.getOffset() - end;
+      long newEnd = Math.max(end, range.getOffset() + range.getLength());
+      return gap <= mergeGap && newEnd - offset <= MAX_MERGED_LENGTH;
+    }
+
+    void add(ParquetFileRange range) {
+      ranges.add(range);
+      end = Math.max(end, range.getOffset() + range.getLength());
+    }
+
+    void complete(CompletableFuture<ByteBuffer> future) {
+      for (var range : ranges) {
+        int start = (int) (range.getOffset() - offset);
+        range.setDataReadFuture(future.thenApply(buffer -> buffer.slice(start, range.getLength())));
+      }
+    }
   }
 
   private static final class SeekableInputStreamImpl extends SeekableInputStream {
@@ -38,9 +129,11 @@ final class ParquetInputFile implements InputFile {
     private static final int BUFFER_LENGTH = 8 * 1024;
 
     private final RandomAccessFile file;
+    private final int mergeGap;
 
-    SeekableInputStreamImpl(File file) throws FileNotFoundException {
+    SeekableInputStreamImpl(File file, int mergeGap) throws FileNotFoundException {
       this.file = new RandomAccessFile(file, "r");
+      this.mergeGap = mergeGap;
     }
 
     @Override
@@ -99,9 +192,157 @@ final class ParquetInputFile implements InputFile {
       file.seek(newPos);
     }
 
+    @Override
+    public boolean readVectoredAvailable(ByteBufferAllocator allocator) {
+      return true;
+    }
+
+    @Override
+    public void readVectored(List<ParquetFileRange> ranges, ByteBufferAllocator allocator) throws IOException {
+      var channel = file.getChannel();
+      for (var merged : coalesce(ranges, mergeGap)) {
+        var buffer = allocator.allocate(merged.length());
+        var future = CompletableFuture.supplyAsync(() -> read(channel, buffer, merged.offset()), EXECUTOR);
+        merged.complete(future);
+      }
+    }
+
     @Override
     public void close() throws IOException {
       file.close();
     }
+
+    private static ByteBuffer read(FileChannel channel, ByteBuffer buffer, long offset) {
+      try {
+        long position = offset;
+        while (buffer.hasRemaining()) {
+          int read = channel.read(buffer, position);
+          if (read < 0) {
+            throw new EOFException("reached the end of stream with " + buffer.remaining() + " bytes left to read");
+          }
+          position += read;
+        }
+        return buffer.flip();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  private static final class MappedSeekableInputStream extends SeekableInputStream {
+
+    private final Arena arena;
+    private final MemorySegment segment;
+
+    private long position;
+
+    MappedSeekableInputStream(File file) throws IOException {
+      this.arena = Arena.ofShared();
+      try (var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+        this.segment = channel.map(MapMode.READ_ONLY, 0, channel.size(), arena);
+      } catch (IOException | RuntimeException e) {
+        arena.close();
+        throw e;
+      }
+    }
+
+    @Override
+    public long getPos() {
+      return position;
+    }
+
+    @Override
+    public int read() {
+      if (position >= segment.byteSize()) {
+        return -1;
+      }
+      return segment.get(ValueLayout.JAVA_BYTE, position++) & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (len == 0) {
+        return 0;
+      }
+      int length = (int) Math.min(len, segment.byteSize() - position);
+      if (length <= 0) {
+        return -1;
+      }
+      MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, position, b, off, length);
+      position += length;
+      return length;
+    }
+
+    @Override
+    public int read(ByteBuffer buf) {
+      int length = (int) Math.min(buf.remaining(), segment.byteSize() - position);
+      if (length <= 0) {
+        return buf.hasRemaining() ? -1 : 0;
+      }
+      buf.put(slice(position, length));
+      position += length;
+      return length;
+    }
+
+    @Override
+    public void readFully(byte[] bytes) throws IOException {
+      readFully(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public void readFully(byte[] bytes, int start, int len) throws IOException {
+      checkRemaining(len);
+      MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, position, bytes, start, len);
+      position += len;
+    }
+
+    @Override
+    public void readFully(ByteBuffer buf) throws IOException {
+      int length = buf.remaining();
+      checkRemaining(length);
+      buf.put(slice(position, length));
+      position += length;
+    }
+
+    @Override
+    public void seek(long newPos) throws IOException {
+      if (newPos < 0 || newPos > segment.byteSize()) {
+        throw new EOFException("invalid position: " + newPos);
+      }
+      position = newPos;
+    }
+
+    @Override
+    public boolean readVectoredAvailable(ByteBufferAllocator allocator) {
+      return true;
+    }
+
+    @Override
+    public void readVectored(List<ParquetFileRange> ranges, ByteBufferAllocator allocator) throws IOException {
+      for (var range : ranges) {
+        if (range.getOffset() < 0 || range.getOffset() + range.getLength() > segment.byteSize()) {
+          throw new EOFException("invalid range: " + range);
+        }
+      }
+      // no copy at all, column chunks are served as views of the mapped region
+      for (var range : ranges) {
+        range.setDataReadFuture(CompletableFuture.completedFuture(slice(range.getOffset(), range.getLength())));
+      }
+    }
+
+    @Override
+    public void close() {
+      arena.close();
+    }
+
+    private ByteBuffer slice(long offset, int length) {
+      return segment.asSlice(offset, length).asByteBuffer();
+    }
+
+    private void checkRemaining(int length) throws EOFException {
+      if (segment.byteSize() - position < length) {
+        throw new EOFException("reached the end of stream with " + (segment.byteSize() - position) + " bytes left to read");
+      }
+    }
   }
 }
@@ -13,17 +13,18 @@ import java.io.UncheckedIOException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
-import org.apache.parquet.hadoop.ParquetReader;
 import org.jspecify.annotations.Nullable;
 
+import pq.internal.RowGroupReader;
+
 final class ParquetIterator implements Iterator<Tuple> {
 
-  private final ParquetReader<JsonValue> reader;
+  private final RowGroupReader<JsonValue> reader;
 
   @Nullable
   private JsonValue current = null;
 
-  public ParquetIterator(ParquetReader<JsonValue> reader) {
+  public ParquetIterator(RowGroupReader<JsonValue> reader) {
     this.reader = requireNonNull(reader);
   }
 
@@ -7,15 +7,18 @@ package pq;
 import static java.util.Objects.requireNonNull;
 
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
 import org.apache.parquet.io.OutputFile;
 import org.apache.parquet.io.PositionOutputStream;
 
 final class ParquetOutputFile implements OutputFile {
 
+  private static final int BUFFER_LENGTH = 1024 * 1024;
+
   private final File file;
 
   ParquetOutputFile(File file) {
@@ -35,6 +38,7 @@ final class ParquetOutputFile implements OutputFile {
     return new PositionOutputStreamImpl(file);
   }
 
+  // a local file has no blocks to align row groups to, parquet would only pad them
   @Override
   public boolean supportsBlockSize() {
     return false;
@@ -47,29 +51,40 @@ final class ParquetOutputFile implements OutputFile {
 
   private static final class PositionOutputStreamImpl extends PositionOutputStream {
 
-    private final OutputStream output;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_LENGTH);
 
     private long count;
 
-    PositionOutputStreamImpl(File file) throws FileNotFoundException {
-      this.output = new FileOutputStream(file);
+    PositionOutputStreamImpl(File file) throws IOException {
+      this.channel = FileChannel.open(file.toPath(),
+          StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
     }
 
     @Override
     public void write(int b) throws IOException {
-      output.write(b);
+      if (!buffer.hasRemaining()) {
+        drain();
+      }
+      buffer.put((byte) b);
       count += 1;
     }
 
     @Override
     public void write(byte[] b) throws IOException {
-      output.write(b);
-      count += b.length;
+      write(b, 0, b.length);
     }
 
     @Override
     public void write(byte[] b, int off, int len) throws IOException {
-      output.write(b, off, len);
+      if (len > buffer.remaining()) {
+        drain();
+      }
+      if (len > buffer.capacity()) {
+        writeFully(ByteBuffer.wrap(b, off, len));
+      } else {
+        buffer.put(b, off, len);
+      }
       count += len;
     }
 
@@ -78,9 +93,28 @@ final class ParquetOutputFile implements OutputFile {
       return count;
     }
 
+    @Override
+    public void flush() throws IOException {
+      drain();
+    }
+
     @Override
     public void close() throws IOException {
-      output.close();
+      try (channel) {
+        drain();
+      }
+    }
+
+    private void drain() throws IOException {
+      buffer.flip();
+      writeFully(buffer);
+      buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer source) throws IOException {
+      while (source.hasRemaining()) {
+        channel.write(source);
+      }
     }
   }
 }
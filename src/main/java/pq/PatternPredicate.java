@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.apache.parquet.filter2.predicate.Statistics;
+import org.apache.parquet.filter2.predicate.UserDefinedPredicate;
+import org.apache.parquet.io.api.Binary;
+import org.jspecify.annotations.Nullable;
+
+// matches strings that start with a prefix, and optionally a pattern. Row groups and
+// pages are dropped when their min and max values are outside of the prefix range,
+// and parquet checks keep with the values of the dictionary before reading any page
+final class PatternPredicate extends UserDefinedPredicate<Binary> implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private static final int MAX_CACHED_VALUES = 4096;
+
+  private final Binary prefix;
+  @Nullable
+  private final Pattern pattern;
+  @Nullable
+  private transient volatile Map<Binary, Boolean> cache;
+
+  private PatternPredicate(String prefix, @Nullable Pattern pattern) {
+    this.prefix = Binary.fromConstantByteArray(prefix.getBytes(UTF_8));
+    this.pattern = pattern;
+  }
+
+  static PatternPredicate startsWith(String prefix) {
+    return new PatternPredicate(requireNonNull(prefix), null);
+  }
+
+  // % matches any sequence of characters and _ a single character
+  static PatternPredicate like(String like) {
+    int wildcard = wildcard(like, 0);
+    var prefix = wildcard < 0 ? like : like.substring(0, wildcard);
+    if (wildcard >= 0 && wildcard == like.length() - 1 && like.charAt(wildcard) == '%') {
+      return startsWith(prefix);
+    }
+    var regex = new StringBuilder();
+    int start = 0;
+    for (int i = wildcard; i >= 0; i = wildcard(like, start)) {
+      if (i > start) {
+        regex.append(Pattern.quote(like.substring(start, i)));
+      }
+      regex.append(like.charAt(i) == '%' ? ".*" : ".");
+      start = i + 1;
+    }
+    if (start < like.length()) {
+      regex.append(Pattern.quote(like.substring(start)));
+    }
+    return new PatternPredicate(prefix, Pattern.compile("\\A" + regex + "\\z", Pattern.DOTALL));
+  }
+
+  // the pattern can be found anywhere in the value, unless it's anchored
+  static PatternPredicate regex(String regex) {
+    return new PatternPredicate(literalPrefix(regex), Pattern.compile(regex));
+  }
+
+  @Override
+  public boolean keep(@Nullable Binary value) {
+    if (value == null || value.length() < prefix.length()) {
+      return false;
+    }
+    if (!value.slice(0, prefix.length()).equals(prefix)) {
+      return false;
+    }
+    return pattern == null || find(pattern, value);
+  }
+
+  // values repeat in dictionary encoded columns, so the pattern is evaluated
+  // only once for each distinct value, like for each entry of the dictionary.
+  // The same predicate is used by all the threads of a parallel read
+  private boolean find(Pattern pattern, Binary value) {
+    var values = cache;
+    if (values == null) {
+      values = new ConcurrentHashMap<>();
+      cache = values;
+    }
+    var cached = values.get(value);
+    if (cached != null) {
+      return cached;
+    }
+    boolean found = pattern.matcher(value.toStringUsingUTF8()).find();
+    if (values.size() < MAX_CACHED_VALUES) {
+      values.put(value.copy(), found);
+    }
+    return found;
+  }
+
+  @Override
+  public boolean canDrop(Statistics<Binary> statistics) {
+    return canDrop(statistics.getMin(), statistics.getMax());
+  }
+
+  // these statistics have no null count, and nulls match the negation
+  @Override
+  public boolean inverseCanDrop(Statistics<Binary> statistics) {
+    return false;
+  }
+
+  boolean canDrop(Binary min, Binary max) {
+    return compareToPrefix(max) < 0 || compareToPrefix(min) > 0;
+  }
+
+  // all the values between min and max match
+  boolean keepAll(Binary min, Binary max) {
+    return pattern == null && compareToPrefix(min) == 0 && compareToPrefix(max) == 0;
+  }
+
+  // compares the value truncated to the length of the prefix
+  private int compareToPrefix(Binary value) {
+    byte[] bytes = value.getBytesUnsafe();
+    byte[] prefixBytes = prefix.getBytesUnsafe();
+    int length = Math.min(bytes.length, prefixBytes.length);
+    return Arrays.compareUnsigned(bytes, 0, length, prefixBytes, 0, prefixBytes.length);
+  }
+
+  // the literal characters after ^ are a prefix of all the values that match,
+  // if there is no alternative
+  private static String literalPrefix(String regex) {
+    if (!regex.startsWith("^") || regex.indexOf('|') >= 0) {
+      return "";
+    }
+    int end = 1;
+    while (end < regex.length() && isLiteral(regex.charAt(end))) {
+      end++;
+    }
+    // the quantifier applies to the last character
+    if (end < regex.length() && "?*{".indexOf(regex.charAt(end)) >= 0) {
+      end--;
+    }
+    return regex.substring(1, Math.max(1, end));
+  }
+
+  private static boolean isLiteral(char c) {
+    return Character.isLetterOrDigit(c) || " -_/:@,=".indexOf(c) >= 0;
+  }
+
+  private static int wildcard(String like, int from) {
+    for (int i = from; i < like.length(); i++) {
+      if (like.charAt(i) == '%' || like.charAt(i) == '_') {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public boolean equals(@Nullable Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    return obj instanceof PatternPredicate other
+        && prefix.equals(other.prefix) && Objects.equals(regex(), other.regex());
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(prefix, regex());
+  }
+
+  @Override
+  public String toString() {
+    return pattern == null ? "startsWith(" + prefix.toStringUsingUTF8() + ")" : "matches(" + pattern.pattern() + ")";
+  }
+
+  @Nullable
+  private String regex() {
+    return pattern != null ? pattern.pattern() : null;
+  }
+}
@@ -4,11 +4,7 @@
  */
 package pq;
 
-import static java.util.stream.Collectors.joining;
-import static pq.App.createJsonReader;
-import static pq.App.createProjection;
-import static pq.App.parseFilter;
-import static pq.App.schema;
+import static java.util.Objects.requireNonNull;
 import static pq.App.stream;
 
 import java.io.File;
@@ -17,6 +13,8 @@ import java.io.UncheckedIOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import org.apache.parquet.schema.MessageType;
 import org.jspecify.annotations.Nullable;
@@ -24,6 +22,9 @@ import org.jspecify.annotations.Nullable;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
 import picocli.CommandLine.Parameters;
+import pq.internal.ColumnBatch;
+import pq.internal.RowGroupReader;
+import pq.internal.TextBuffer;
 
 @Command(name = "read", description = "print content of parquet file in json format")
 final class ReadCommand implements Runnable {
@@ -48,6 +49,15 @@ final class ReadCommand implements Runnable {
   @Option(names = "--select", description = "list of columns to select", paramLabel = "COLUMN", split = ",")
   private String[] select;
 
+  @Option(names = "--prefetch", description = "number of row groups to read and decompress in background", paramLabel = "ROW_GROUPS", defaultValue = "0")
+  private int prefetch;
+
+  @Option(names = "--threads", description = "number of threads to decode row groups in parallel", paramLabel = "THREADS", defaultValue = "1")
+  private int threads;
+
+  @Option(names = "--unordered", description = "print rows as soon as they are decoded, not in file order", defaultValue = "false")
+  private boolean unordered;
+
   @Option(names = "--index", description = "print row index", defaultValue = "false")
   private boolean index;
 
@@ -55,45 +65,158 @@ final class ReadCommand implements Runnable {
   @Option(names = "--format", description = "output format, json or csv", defaultValue = "json", paramLabel = "JSON|CSV", converter = FormatConverter.class)
   private Format format;
 
+  @Option(names = "--delimiter", description = "field delimiter for csv format", paramLabel = "CHAR", defaultValue = ",")
+  private char delimiter;
+
+  @Nullable
+  @Option(names = "--output", description = "write the output to a file instead of stdout", paramLabel = "FILE")
+  private File outputFile;
+
   @SuppressWarnings("NullAway.Init")
   @Parameters(paramLabel = "FILE", description = "parquet file")
   private File file;
 
   @Override
   public void run() {
-    var schema = schema(file);
-    var projection = createProjection(schema, select);
-    var output = createOutput(projection.orElse(schema));
-    try (var reader = createJsonReader(file, parseFilter(filter, schema), projection.orElse(null))) {
-      if (head > 0) {
-        stream(reader).skip(skip).limit(head).forEach(output::printRow);
-      } else if (tail > 0) {
-        var deque = new ArrayDeque<Tuple>(tail);
-        stream(reader).skip(skip).forEach(i -> {
-          if (deque.size() == tail) {
-            deque.removeFirst();
+    try (var session = ReadSession.open(file, filter); var sink = OutputSink.open(outputFile)) {
+      var projection = session.projection(select).orElse(session.schema());
+      var output = createOutput(projection, sink);
+      if (output instanceof CsvOutput csv && isFullRead() && threads <= 1 && session.supportsBatches(projection)) {
+        try (var reader = session.batchReader(projection, prefetch)) {
+          for (var batch = reader.read(); batch != null; batch = reader.read()) {
+            csv.printBatch(batch);
+          }
+        }
+      } else if (head == 0 && tail > 0 && (skip == 0 || !session.hasFilter())) {
+        printTail(session, projection, output);
+      } else if (threads <= 1 && tail == 0) {
+        try (var reader = format == Format.CSV
+            ? session.csvReader(projection, prefetch, csvDelimiter())
+            : session.bufferReader(projection, prefetch)) {
+          long firstRow = firstRow();
+          if (!session.hasFilter()) {
+            reader.skipTo(firstRow);
+            firstRow = 0;
           }
-          deque.addLast(i);
-        });
-        deque.forEach(output::printRow);
-      } else if (get > -1) {
-        stream(reader).skip(skip).skip(get).findFirst().ifPresent(output::printRow);
+          printRows(reader, sink, format == Format.JSON && index, firstRow);
+        }
+      } else if (threads > 1) {
+        try (var reader = session.parallelReader(projection, threads, isOrdered())) {
+          read(stream(reader), output);
+        }
       } else {
-        stream(reader).skip(skip).forEach(output::printRow);
+        try (var reader = session.reader(projection, prefetch)) {
+          read(stream(reader), output);
+        }
       }
     } catch (IOException e) {
       throw new UncheckedIOException(e);
     }
   }
 
-  private Output createOutput(MessageType schema) {
+  // row positions are needed to honor head, tail, get or skip
+  private boolean isOrdered() {
+    return !unordered || !isFullRead();
+  }
+
+  private byte csvDelimiter() {
+    if (delimiter > 127 || delimiter == '"' || delimiter == '\n' || delimiter == '\r') {
+      throw new IllegalArgumentException("invalid delimiter: " + delimiter);
+    }
+    return (byte) delimiter;
+  }
+
+  // without filter rows before the first one are skipped by position,
+  // with filter only the rows that match are counted
+  private long firstRow() {
+    return head == 0 && get > -1 ? skip + (long) get : skip;
+  }
+
+  private boolean isFullRead() {
+    return head == 0 && tail == 0 && get == -1 && skip == 0;
+  }
+
+  // rows are written as utf-8 bytes, without building json objects
+  private void printRows(RowGroupReader<TextBuffer> reader, OutputSink sink, boolean printIndex, long toSkip) throws IOException {
+    long limit = Long.MAX_VALUE;
+    if (head > 0) {
+      limit = head;
+    } else if (get > -1) {
+      limit = 1;
+    }
+    while (limit > 0) {
+      var row = reader.read();
+      if (row == null) {
+        break;
+      }
+      if (toSkip > 0) {
+        toSkip--;
+        continue;
+      }
+      if (printIndex) {
+        sink.println("#" + reader.getCurrentRowIndex());
+      }
+      sink.println(row);
+      limit--;
+    }
+  }
+
+  // row groups are read backwards until there are enough rows, with a filter
+  // the rows to skip are unknown without reading from the start, so skip is
+  // only supported here when there's no filter
+  private void printTail(ReadSession session, MessageType projection, Output output) throws IOException {
+    var sizes = session.rowGroupSizes();
+    long end = LongStream.of(sizes).sum();
+    var rows = new ArrayDeque<Tuple>(tail);
+    try (var reader = session.seekableReader(projection)) {
+      for (int rowGroup = sizes.length - 1; rowGroup >= 0 && rows.size() < tail && end > skip; rowGroup--) {
+        long position = end - sizes[rowGroup];
+        int needed = tail - rows.size();
+        var last = new ArrayDeque<Tuple>(needed);
+        reader.seek(rowGroup);
+        for (var value = reader.read(); value != null; value = reader.read()) {
+          if (position++ < skip) {
+            continue;
+          }
+          if (last.size() == needed) {
+            last.removeFirst();
+          }
+          last.addLast(new Tuple(reader.getCurrentRowIndex(), value));
+        }
+        last.descendingIterator().forEachRemaining(rows::addFirst);
+        end -= sizes[rowGroup];
+      }
+    }
+    rows.forEach(output::printRow);
+  }
+
+  private void read(Stream<Tuple> rows, Output output) {
+    if (head > 0) {
+      rows.skip(skip).limit(head).forEach(output::printRow);
+    } else if (tail > 0) {
+      var deque = new ArrayDeque<Tuple>(tail);
+      rows.skip(skip).forEach(i -> {
+        if (deque.size() == tail) {
+          deque.removeFirst();
+        }
+        deque.addLast(i);
+      });
+      deque.forEach(output::printRow);
+    } else if (get > -1) {
+      rows.skip(skip).skip(get).findFirst().ifPresent(output::printRow);
+    } else {
+      rows.skip(skip).forEach(output::printRow);
+    }
+  }
+
+  private Output createOutput(MessageType schema, OutputSink sink) {
     return switch(format) {
-      case CSV -> new CsvOutput(schema).printHeader();
+      case CSV -> new CsvOutput(schema, sink, csvDelimiter()).printHeader();
       case JSON -> {
         if (index) {
-          yield new JsonOutputWithIndex();
+          yield new JsonOutputWithIndex(sink);
         } else {
-          yield new JsonOutput();
+          yield new JsonOutput(sink);
         }
       }
     };
@@ -104,49 +227,97 @@ final class ReadCommand implements Runnable {
   }
 
   static final class JsonOutput implements Output {
+
+    private final OutputSink sink;
+
+    JsonOutput(OutputSink sink) {
+      this.sink = requireNonNull(sink);
+    }
+
     @Override
     public void printRow(Tuple tuple) {
-      System.out.println(tuple.value());
+      sink.println(tuple.value().toString());
     }
   }
 
   static final class JsonOutputWithIndex implements Output {
+
+    private final OutputSink sink;
+
+    JsonOutputWithIndex(OutputSink sink) {
+      this.sink = requireNonNull(sink);
+    }
+
     @Override
     public void printRow(Tuple tuple) {
-      System.out.println("#" + tuple.index());
-      System.out.println(tuple.value());
+      sink.println("#" + tuple.index());
+      sink.println(tuple.value().toString());
     }
   }
 
+  // rfc 4180, strings are always quoted, any other value only when needed
   static final class CsvOutput implements Output {
 
     private final List<String> columns;
+    private final OutputSink sink;
+    private final byte delimiter;
+    private final TextBuffer line = new TextBuffer();
 
-    CsvOutput(MessageType schema) {
+    CsvOutput(MessageType schema, OutputSink sink, byte delimiter) {
       List<String> names = new ArrayList<>();
       for (int i = 0; i < schema.getFieldCount(); i++) {
         names.add(schema.getFieldName(i));
       }
       this.columns = List.copyOf(names);
+      this.sink = requireNonNull(sink);
+      this.delimiter = delimiter;
     }
 
+    // fields of the json object are in the same order as the columns
     @Override
     public void printRow(Tuple tuple) {
-      List<String> values = new ArrayList<>();
-      for (String column : columns) {
-        var value = tuple.value().asObject().get(column);
-        if (value.isNull()) {
-          values.add("");
-        } else {
-          values.add(value.toString());
+      line.reset();
+      int i = 0;
+      for (var member : tuple.value().asObject()) {
+        if (i++ > 0) {
+          line.append(delimiter);
+        }
+        var value = member.getValue();
+        if (value.isString()) {
+          line.appendCsvQuoted(value.asString());
+        } else if (!value.isNull()) {
+          line.appendCsvField(value.toString(), delimiter);
+        }
+      }
+      sink.println(line);
+    }
+
+    void printBatch(ColumnBatch batch) {
+      for (int row = 0; row < batch.size(); row++) {
+        line.reset();
+        for (int i = 0; i < batch.columnCount(); i++) {
+          if (i > 0) {
+            line.append(delimiter);
+          }
+          var column = batch.column(i);
+          if (!column.isNull(row)) {
+            column.writeCsv(row, line, delimiter);
+          }
         }
+        sink.println(line);
       }
-      System.out.println(values.stream().collect(joining(",")));
     }
 
     private CsvOutput printHeader() {
-      System.out.println(columns.stream().collect(joining(",")));
+      line.reset();
+      for (int i = 0; i < columns.size(); i++) {
+        if (i > 0) {
+          line.append(delimiter);
+        }
+        line.appendCsvField(columns.get(i), delimiter);
+      }
+      sink.println(line);
       return this;
     }
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq;
+
+import static java.util.Objects.requireNonNull;
+import static pq.App.createFileReader;
+import static pq.App.createProjection;
+import static pq.App.footer;
+import static pq.App.inputFile;
+
+import com.eclipsesource.json.JsonValue;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Optional;
+import java.util.Set;
+
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.compat.FilterCompat.Filter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.schema.MessageType;
+import org.jspecify.annotations.Nullable;
+
+import pq.FilterParser.TypedExpr;
+import pq.internal.ColumnarBatchReader;
+import pq.internal.RowGroupReader;
+import pq.internal.TextBuffer;
+
+final class ReadSession implements Closeable {
+
+  private final ParquetInputFile input;
+  private final ParquetMetadata footer;
+  private final ParquetFileReader reader;
+  private final MessageType schema;
+  private final TypedExpr<?> predicate;
+  private final Filter filter;
+  private final Set<String> filterColumns;
+
+  private ReadSession(ParquetInputFile input, ParquetMetadata footer,
+      TypedExpr<?> predicate, Filter filter, Set<String> filterColumns) throws IOException {
+    this.input = requireNonNull(input);
+    this.footer = requireNonNull(footer);
+    this.reader = createFileReader(input, footer, filter);
+    this.schema = footer.getFileMetaData().getSchema();
+    this.predicate = requireNonNull(predicate);
+    this.filter = requireNonNull(filter);
+    this.filterColumns = requireNonNull(filterColumns);
+  }
+
+  static ReadSession open(File file, @Nullable String filter) throws IOException {
+    var input = inputFile(file);
+    var footer = footer(file, input);
+    var expr = new FilterParser().parse(filter);
+    TypedExpr<?> typed = expr.apply(footer.getFileMetaData().getSchema());
+    var predicate = typed.convert();
+    var recordFilter = predicate != null ? FilterCompat.get(predicate) : FilterCompat.NOOP;
+    return new ReadSession(input, footer, typed, recordFilter, expr.columns());
+  }
+
+  MessageType schema() {
+    return schema;
+  }
+
+  Optional<MessageType> projection(@Nullable String[] select) {
+    return createProjection(schema, select);
+  }
+
+  Optional<MessageType> filterProjection() {
+    return createProjection(schema, filterColumns.toArray(String[]::new));
+  }
+
+  RowGroupReader<JsonValue> reader(MessageType projection, int prefetch) {
+    return RowGroupReader.json(reader, projection, filter, prefetch);
+  }
+
+  // reads only the row groups given to seek
+  RowGroupReader<JsonValue> seekableReader(MessageType projection) {
+    return RowGroupReader.json(reader, projection, filter);
+  }
+
+  // row count of the row groups that remain after filtering by statistics,
+  // in the same order used by seek
+  long[] rowGroupSizes() {
+    return reader.getRowGroups().stream().mapToLong(BlockMetaData::getRowCount).toArray();
+  }
+
+  boolean hasFilter() {
+    return !filterColumns.isEmpty();
+  }
+
+  RowGroupReader<TextBuffer> bufferReader(MessageType projection, int prefetch) {
+    return RowGroupReader.buffer(reader, projection, filter, prefetch);
+  }
+
+  RowGroupReader<TextBuffer> csvReader(MessageType projection, int prefetch, byte delimiter) {
+    return RowGroupReader.csv(reader, projection, filter, prefetch, delimiter);
+  }
+
+  // the columnar reader doesn't evaluate the filter on the rows
+  boolean supportsBatches(MessageType projection) {
+    return filterColumns.isEmpty() && ColumnarBatchReader.isSupported(projection);
+  }
+
+  ColumnarBatchReader batchReader(MessageType projection, int prefetch) {
+    return new ColumnarBatchReader(reader, projection, ColumnarBatchReader.DEFAULT_BATCH_SIZE, prefetch);
+  }
+
+  long count(MessageType projection) throws IOException {
+    boolean columnIndexes = reader.getOptions().useColumnIndexFilter();
+    return new FilteredCounter(reader, predicate, projection, filter, filterColumns, columnIndexes).count();
+  }
+
+  // every worker needs its own file reader, they are not thread safe
+  ParallelReader parallelReader(MessageType projection, int threads, boolean ordered) throws IOException {
+    var files = new ArrayList<ParquetFileReader>(threads);
+    try {
+      for (int i = 0; i < threads; i++) {
+        files.add(createFileReader(input, footer, filter));
+      }
+      return new ParallelReader(files, projection, filter, ordered);
+    } catch (IOException | RuntimeException e) {
+      for (var file : files) {
+        file.close();
+      }
+      throw e;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
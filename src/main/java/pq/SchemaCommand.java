@@ -4,15 +4,11 @@
  */
 package pq;
 
-import static pq.App.createFileReader;
 import static pq.App.createProjection;
+import static pq.App.schema;
 
 import java.io.File;
-import java.io.IOException;
-import java.io.UncheckedIOException;
 
-import org.apache.parquet.filter2.compat.FilterCompat;
-import org.apache.parquet.schema.MessageType;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
 import picocli.CommandLine.Parameters;
@@ -30,12 +26,8 @@ final class SchemaCommand implements Runnable {
 
   @Override
   public void run() {
-    try (var reader = createFileReader(file, FilterCompat.NOOP)) {
-      MessageType schema = reader.getFileMetaData().getSchema();
-      var projection = createProjection(schema, select).orElse(schema);
-      System.out.print(projection);
-    } catch (IOException e) {
-      throw new UncheckedIOException(e);
-    }
+    var schema = schema(file);
+    var projection = createProjection(schema, select).orElse(schema);
+    System.out.print(projection);
   }
 }
\ No newline at end of file
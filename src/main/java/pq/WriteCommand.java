@@ -14,11 +14,15 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
 
+import org.apache.parquet.column.ParquetProperties.WriterVersion;
 import org.apache.parquet.hadoop.ParquetWriter;
 import org.apache.parquet.schema.MessageType;
 import org.apache.parquet.schema.MessageTypeParser;
 import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.jspecify.annotations.Nullable;
 
 import com.eclipsesource.json.Json;
 import com.eclipsesource.json.JsonValue;
@@ -26,10 +30,13 @@ import com.eclipsesource.json.JsonValue;
 import picocli.CommandLine.Command;
 import picocli.CommandLine.Option;
 import picocli.CommandLine.Parameters;
+import pq.internal.JsonParquetWriter;
 
 @Command(name = "write", description = "create a parquet file from a jsonl stream and a schema")
 final class WriteCommand implements Runnable {
 
+  private static final String ZSTD_LEVEL = "parquet.compression.codec.zstd.level";
+
   @SuppressWarnings("NullAway.Init")
   @Parameters(paramLabel = "FILE", description = "destination parquet file")
   private File file;
@@ -42,12 +49,82 @@ final class WriteCommand implements Runnable {
   @Option(names = "--format", description = "input format, json or csv", defaultValue = "json", paramLabel = "JSON|CSV", converter = FormatConverter.class)
   private Format format;
 
+  @SuppressWarnings("NullAway.Init")
+  @Option(names = "--codec", description = "compression codec: ${COMPLETION-CANDIDATES}", defaultValue = "SNAPPY", paramLabel = "CODEC")
+  private Codec codec;
+
+  @Nullable
+  @Option(names = "--zstd-level", description = "compression level for ZSTD codec", paramLabel = "LEVEL")
+  private Integer zstdLevel;
+
+  @Nullable
+  @Option(names = "--row-group-size", description = "max size of a row group", paramLabel = "BYTES")
+  private Long rowGroupSize;
+
+  @Nullable
+  @Option(names = "--page-size", description = "max size of a page", paramLabel = "BYTES")
+  private Integer pageSize;
+
+  @Nullable
+  @Option(names = "--page-row-limit", description = "max number of rows in a page", paramLabel = "ROWS")
+  private Integer pageRowLimit;
+
+  @Option(names = "--dictionary", negatable = true, description = "use dictionary encoding", defaultValue = "true", fallbackValue = "true")
+  private boolean dictionary;
+
+  @Nullable
+  @Option(names = "--column-dictionary", description = "use dictionary encoding in a column", paramLabel = "COLUMN=BOOLEAN")
+  private Map<String, Boolean> columnDictionary;
+
+  @Nullable
+  @Option(names = "--dictionary-page-size", description = "max size of a dictionary page", paramLabel = "BYTES")
+  private Integer dictionaryPageSize;
+
+  @SuppressWarnings("NullAway.Init")
+  @Option(names = "--writer-version", description = "writer version: ${COMPLETION-CANDIDATES}, PARQUET_2_0 uses delta encodings",
+      defaultValue = "PARQUET_1_0", paramLabel = "VERSION")
+  private WriterVersion writerVersion;
+
+  @Option(names = "--byte-stream-split", description = "use byte stream split encoding for floating point columns", defaultValue = "false")
+  private boolean byteStreamSplit;
+
+  @Nullable
+  @Option(names = "--column-index-truncate-length", description = "max length of min and max values in column indexes", paramLabel = "BYTES")
+  private Integer columnIndexTruncateLength;
+
+  @Nullable
+  @Option(names = "--statistics-truncate-length", description = "max length of min and max values in statistics", paramLabel = "BYTES")
+  private Integer statisticsTruncateLength;
+
+  @Nullable
+  @Option(names = "--bloom-filter-column", description = "write a bloom filter for a column", paramLabel = "COLUMN")
+  private List<String> bloomFilterColumns;
+
+  @Nullable
+  @Option(names = "--bloom-filter-ndv", description = "expected number of distinct values of a column, enables its bloom filter",
+      paramLabel = "COLUMN=NDV")
+  private Map<String, Long> bloomFilterNdv;
+
+  @Nullable
+  @Option(names = "--bloom-filter-fpp", description = "false positive probability of the bloom filter of a column, enables it",
+      paramLabel = "COLUMN=FPP")
+  private Map<String, Double> bloomFilterFpp;
+
+  @Option(names = "--adaptive-bloom-filter", description = "size bloom filters with the number of distinct values written",
+      defaultValue = "false")
+  private boolean adaptiveBloomFilter;
+
+  @Option(names = "--statistics", negatable = true, description = "write statistics and column indexes",
+      defaultValue = "true", fallbackValue = "true")
+  private boolean statistics;
+
   @Override
   public void run() {
+    checkZstdLevel();
     try {
       var schema = parseSchema();
       var input = createInput(schema);
-      try (var output = createJsonWriter(file, schema)) {
+      try (var output = createJsonWriter(file, schema, this::configure)) {
         try (var lines = reader().lines()) {
           lines.map(input::parse).forEach(value -> write(output, value));
         }
@@ -57,6 +134,57 @@ final class WriteCommand implements Runnable {
     }
   }
 
+  // the level is only read by the zstd codec, otherwise it would be ignored
+  private void checkZstdLevel() {
+    if (zstdLevel != null && codec != Codec.ZSTD) {
+      throw new IllegalArgumentException("zstd level requires ZSTD codec: " + codec);
+    }
+  }
+
+  // parquet defaults are used for the options not given
+  private JsonParquetWriter.Builder configure(JsonParquetWriter.Builder builder) {
+    builder.withCompressionCodec(codec.codecName())
+        .withDictionaryEncoding(dictionary)
+        .withWriterVersion(writerVersion)
+        .withByteStreamSplitEncoding(byteStreamSplit);
+    builder.withStatisticsEnabled(statistics)
+        .withAdaptiveBloomFilterEnabled(adaptiveBloomFilter);
+    if (bloomFilterColumns != null) {
+      bloomFilterColumns.forEach(column -> builder.withBloomFilterEnabled(column, true));
+    }
+    if (bloomFilterNdv != null) {
+      bloomFilterNdv.forEach((column, ndv) -> builder.withBloomFilterEnabled(column, true).withBloomFilterNDV(column, ndv));
+    }
+    if (bloomFilterFpp != null) {
+      bloomFilterFpp.forEach((column, fpp) -> builder.withBloomFilterEnabled(column, true).withBloomFilterFPP(column, fpp));
+    }
+    if (columnDictionary != null) {
+      columnDictionary.forEach(builder::withDictionaryEncoding);
+    }
+    if (zstdLevel != null) {
+      builder.config(ZSTD_LEVEL, String.valueOf(zstdLevel));
+    }
+    if (rowGroupSize != null) {
+      builder.withRowGroupSize(rowGroupSize);
+    }
+    if (pageSize != null) {
+      builder.withPageSize(pageSize);
+    }
+    if (pageRowLimit != null) {
+      builder.withPageRowCountLimit(pageRowLimit);
+    }
+    if (dictionaryPageSize != null) {
+      builder.withDictionaryPageSize(dictionaryPageSize);
+    }
+    if (columnIndexTruncateLength != null) {
+      builder.withColumnIndexTruncateLength(columnIndexTruncateLength);
+    }
+    if (statisticsTruncateLength != null) {
+      builder.withStatisticsTruncateLength(statisticsTruncateLength);
+    }
+    return builder;
+  }
+
   private BufferedReader reader() {
     return new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
   }
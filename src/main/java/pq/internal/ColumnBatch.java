@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq.internal;
+
+import static java.util.Objects.requireNonNull;
+
+public final class ColumnBatch {
+
+  private final ColumnVector[] columns;
+  private final long[] rowIndexes;
+
+  private int size;
+
+  ColumnBatch(ColumnVector[] columns, int capacity) {
+    this.columns = requireNonNull(columns);
+    this.rowIndexes = new long[capacity];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public int columnCount() {
+    return columns.length;
+  }
+
+  public ColumnVector column(int index) {
+    return columns[index];
+  }
+
+  public long rowIndex(int row) {
+    return rowIndexes[row];
+  }
+
+  int capacity() {
+    return rowIndexes.length;
+  }
+
+  void setRowIndex(int row, long rowIndex) {
+    rowIndexes[row] = rowIndex;
+  }
+
+  void setSize(int size) {
+    this.size = size;
+  }
+}
@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonValue;
+
+import java.util.Arrays;
+
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.PrimitiveType;
+
+public abstract sealed class ColumnVector {
+
+  private final boolean[] nulls;
+
+  ColumnVector(int capacity) {
+    this.nulls = new boolean[capacity];
+  }
+
+  static ColumnVector create(PrimitiveType type, int capacity) {
+    return switch (type.getPrimitiveTypeName()) {
+      case INT32 -> new IntVector(capacity);
+      case INT64 -> new LongVector(capacity);
+      case FLOAT -> new FloatVector(capacity);
+      case DOUBLE -> new DoubleVector(capacity);
+      case BOOLEAN -> new BooleanVector(capacity);
+      case BINARY -> new BinaryVector(capacity, true);
+      case FIXED_LEN_BYTE_ARRAY -> new BinaryVector(capacity, false);
+      case INT96 -> throw new UnsupportedOperationException("not supported type INT96");
+    };
+  }
+
+  public boolean isNull(int row) {
+    return nulls[row];
+  }
+
+  public JsonValue get(int row) {
+    return nulls[row] ? Json.NULL : value(row);
+  }
+
+  abstract JsonValue value(int row);
+
+  public abstract void writeCsv(int row, TextBuffer output, byte delimiter);
+
+  abstract void read(ColumnReader reader, int row);
+
+  void reset() {
+    // nothing to reset by default
+  }
+
+  void fill(ColumnReader reader, int maxDefinitionLevel, int size) {
+    reset();
+    for (int row = 0; row < size; row++) {
+      nulls[row] = reader.getCurrentDefinitionLevel() < maxDefinitionLevel;
+      if (!nulls[row]) {
+        read(reader, row);
+      } else {
+        readNull(row);
+      }
+      reader.consume();
+    }
+  }
+
+  void readNull(int row) {
+    // nothing to do by default
+  }
+
+  public static final class IntVector extends ColumnVector {
+
+    private final int[] values;
+
+    IntVector(int capacity) {
+      super(capacity);
+      this.values = new int[capacity];
+    }
+
+    public int getInt(int row) {
+      return values[row];
+    }
+
+    @Override
+    JsonValue value(int row) {
+      return Json.value(values[row]);
+    }
+
+    @Override
+    public void writeCsv(int row, TextBuffer output, byte delimiter) {
+      int start = output.length();
+      output.appendInt(values[row]);
+      output.quoteFrom(start, delimiter);
+    }
+
+    @Override
+    void read(ColumnReader reader, int row) {
+      values[row] = reader.getInteger();
+    }
+  }
+
+  public static final class LongVector extends ColumnVector {
+
+    private final long[] values;
+
+    LongVector(int capacity) {
+      super(capacity);
+      this.values = new long[capacity];
+    }
+
+    public long getLong(int row) {
+      return values[row];
+    }
+
+    @Override
+    JsonValue value(int row) {
+      return Json.value(values[row]);
+    }
+
+    @Override
+    public void writeCsv(int row, TextBuffer output, byte delimiter) {
+      int start = output.length();
+      output.appendLong(values[row]);
+      output.quoteFrom(start, delimiter);
+    }
+
+    @Override
+    void read(ColumnReader reader, int row) {
+      values[row] = reader.getLong();
+    }
+  }
+
+  public static final class FloatVector extends ColumnVector {
+
+    private final float[] values;
+
+    FloatVector(int capacity) {
+      super(capacity);
+      this.values = new float[capacity];
+    }
+
+    public float getFloat(int row) {
+      return values[row];
+    }
+
+    @Override
+    JsonValue value(int row) {
+      return Json.value(values[row]);
+    }
+
+    @Override
+    public void writeCsv(int row, TextBuffer output, byte delimiter) {
+      int start = output.length();
+      output.appendFloat(values[row]);
+      output.quoteFrom(start, delimiter);
+    }
+
+    @Override
+    void read(ColumnReader reader, int row) {
+      values[row] = reader.getFloat();
+    }
+  }
+
+  public static final class DoubleVector extends ColumnVector {
+
+    private final double[] values;
+
+    DoubleVector(int capacity) {
+      super(capacity);
+      this.values = new double[capacity];
+    }
+
+    public double getDouble(int row) {
+      return values[row];
+    }
+
+    @Override
+    JsonValue value(int row) {
+      return Json.value(values[row]);
+    }
+
+    @Override
+    public void writeCsv(int row, TextBuffer output, byte delimiter) {
+      int start = output.length();
+      output.appendDouble(values[row]);
+      output.quoteFrom(start, delimiter);
+    }
+
+    @Override
+    void read(ColumnReader reader, int row) {
+      values[row] = reader.getDouble();
+    }
+  }
+
+  public static final class BooleanVector extends ColumnVector {
+
+    private final boolean[] values;
+
+    BooleanVector(int capacity) {
+      super(capacity);
+      this.values = new boolean[capacity];
+    }
+
+    public boolean getBoolean(int row) {
+      return values[row];
+    }
+
+    @Override
+    JsonValue value(int row) {
+      return Json.value(values[row]);
+    }
+
+    @Override
+    public void writeCsv(int row, TextBuffer output, byte delimiter) {
+      int start = output.length();
+      output.appendBoolean(values[row]);
+      output.quoteFrom(start, delimiter);
+    }
+
+    @Override
+    void read(ColumnReader reader, int row) {
+      values[row] = reader.getBoolean();
+    }
+  }
+
+  // values are stored one after the other in a single buffer, the value
+  // of a row is between offsets[row] and offsets[row + 1]
+  public static final class BinaryVector extends ColumnVector {
+
+    private final boolean string;
+    private final int[] offsets;
+    private final TextBuffer scratch = new TextBuffer();
+    private byte[] bytes = new byte[1024];
+
+    BinaryVector(int capacity, boolean string) {
+      super(capacity);
+      this.string = string;
+      this.offsets = new int[capacity + 1];
+    }
+
+    public byte[] getBytes(int row) {
+      return Arrays.copyOfRange(bytes, offsets[row], offsets[row + 1]);
+    }
+
+    // the returned binary shares the buffer of the vector, it's only valid until the next batch
+    public Binary getBinary(int row) {
+      return Binary.fromReusedByteArray(bytes, offsets[row], offsets[row + 1] - offsets[row]);
+    }
+
+    public String getString(int row) {
+      return new String(bytes, offsets[row], offsets[row + 1] - offsets[row], UTF_8);
+    }
+
+    @Override
+    JsonValue value(int row) {
+      if (string) {
+        return Json.value(getString(row));
+      }
+      var array = new JsonArray();
+      for (int i = offsets[row]; i < offsets[row + 1]; i++) {
+        array.add(bytes[i]);
+      }
+      return array;
+    }
+
+    @Override
+    public void writeCsv(int row, TextBuffer output, byte delimiter) {
+      if (string) {
+        output.appendCsvQuoted(bytes, offsets[row], offsets[row + 1] - offsets[row]);
+      } else {
+        scratch.reset();
+        scratch.appendByteArray(Binary.fromConstantByteArray(bytes, offsets[row], offsets[row + 1] - offsets[row]));
+        output.appendCsvField(scratch, delimiter);
+      }
+    }
+
+    @Override
+    void reset() {
+      offsets[0] = 0;
+    }
+
+    @Override
+    void read(ColumnReader reader, int row) {
+      var value = reader.getBinary();
+      int start = offsets[row];
+      int length = value.length();
+      if (start + length > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, start + length));
+      }
+      value.toByteBuffer().get(bytes, start, length);
+      offsets[row + 1] = start + length;
+    }
+
+    @Override
+    void readNull(int row) {
+      offsets[row + 1] = offsets[row];
+    }
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.stream.LongStream;
+
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.column.impl.ColumnReadStoreImpl;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.internal.filter2.columnindex.RowRanges;
+import org.apache.parquet.io.api.Converter;
+import org.apache.parquet.io.api.GroupConverter;
+import org.apache.parquet.io.api.PrimitiveConverter;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Type.Repetition;
+import org.jspecify.annotations.Nullable;
+
+// reads the values of each column directly from the pages into column vectors,
+// without assembling records. Only flat schemas are supported.
+public final class ColumnarBatchReader implements Closeable {
+
+  public static final int DEFAULT_BATCH_SIZE = 4096;
+
+  private static final GroupConverter NO_CONVERTER = new GroupConverter() {
+
+    private final PrimitiveConverter primitive = new PrimitiveConverter() { };
+
+    @Override
+    public Converter getConverter(int fieldIndex) {
+      return primitive;
+    }
+
+    @Override
+    public void start() {
+      // nothing to do
+    }
+
+    @Override
+    public void end() {
+      // nothing to do
+    }
+  };
+
+  private final ParquetFileReader reader;
+  private final MessageType projection;
+  private final String createdBy;
+  private final List<ColumnDescriptor> columns;
+  private final ColumnReader[] readers;
+  private final ColumnBatch batch;
+  private final RowGroupSource source;
+
+  private PrimitiveIterator.OfLong rowIndexes = LongStream.empty().iterator();
+  private long remaining;
+
+  public ColumnarBatchReader(ParquetFileReader reader, MessageType projection, int batchSize, int prefetch) {
+    this(reader, projection, batchSize, RowGroupSource.of(reader, projection, prefetch));
+  }
+
+  private ColumnarBatchReader(ParquetFileReader reader, MessageType projection, int batchSize, RowGroupSource source) {
+    if (!isSupported(projection)) {
+      throw new IllegalArgumentException("only flat schemas are supported: " + projection);
+    }
+    this.reader = requireNonNull(reader);
+    this.projection = requireNonNull(projection);
+    this.createdBy = reader.getFileMetaData().getCreatedBy();
+    this.columns = projection.getColumns();
+    this.readers = new ColumnReader[columns.size()];
+    var vectors = new ColumnVector[columns.size()];
+    for (int i = 0; i < vectors.length; i++) {
+      vectors[i] = ColumnVector.create(columns.get(i).getPrimitiveType(), batchSize);
+    }
+    this.batch = new ColumnBatch(vectors, batchSize);
+    reader.setRequestedSchema(projection);
+    this.source = requireNonNull(source);
+  }
+
+  // reads only the row groups given to seek
+  public static ColumnarBatchReader seekable(ParquetFileReader reader, MessageType projection, int batchSize) {
+    return new ColumnarBatchReader(reader, projection, batchSize, () -> null);
+  }
+
+  public static boolean isSupported(MessageType schema) {
+    return schema.getFields().stream().allMatch(field -> field.isPrimitive()
+        && !field.isRepetition(Repetition.REPEATED)
+        && field.asPrimitiveType().getPrimitiveTypeName() != PrimitiveTypeName.INT96);
+  }
+
+  // discards the current row group and continues reading from the given one,
+  // the index refers to the row groups that remain after applying the filter
+  public void seek(int rowGroup) throws IOException {
+    loadIfPresent(reader.readFilteredRowGroup(rowGroup));
+  }
+
+  // same as seek, but only the rows in the given ranges are read
+  public void seek(int rowGroup, RowRanges ranges) throws IOException {
+    loadIfPresent(reader.readFilteredRowGroup(rowGroup, ranges));
+  }
+
+  // the returned batch is reused, it's only valid until the next call
+  @Nullable
+  public ColumnBatch read() throws IOException {
+    if (remaining == 0 && !nextRowGroup()) {
+      return null;
+    }
+    int size = (int) Math.min(batch.capacity(), remaining);
+    for (int i = 0; i < readers.length; i++) {
+      batch.column(i).fill(readers[i], columns.get(i).getMaxDefinitionLevel(), size);
+    }
+    for (int row = 0; row < size; row++) {
+      batch.setRowIndex(row, rowIndexes.nextLong());
+    }
+    batch.setSize(size);
+    remaining -= size;
+    return batch;
+  }
+
+  @Override
+  public void close() throws IOException {
+    source.close();
+  }
+
+  private boolean nextRowGroup() throws IOException {
+    PageReadStore pages;
+    do {
+      pages = source.next();
+      if (pages == null) {
+        return false;
+      }
+    } while (pages.getRowCount() == 0);
+    load(pages);
+    return true;
+  }
+
+  // the file reader returns null for empty row groups
+  private void loadIfPresent(@Nullable PageReadStore pages) {
+    if (pages != null) {
+      load(pages);
+    } else {
+      remaining = 0;
+    }
+  }
+
+  private void load(PageReadStore pages) {
+    var store = new ColumnReadStoreImpl(pages, NO_CONVERTER, projection, createdBy);
+    for (int i = 0; i < readers.length; i++) {
+      readers[i] = store.getColumnReader(columns.get(i));
+    }
+    remaining = pages.getRowCount();
+    rowIndexes = RowGroupReader.rowIndexes(pages);
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import org.apache.parquet.io.api.Converter;
+import org.apache.parquet.io.api.GroupConverter;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.apache.parquet.schema.Type;
+import org.apache.parquet.schema.Type.Repetition;
+
+// every column is written to its own cell, strings already quoted and any other
+// value as json, the line is built when the record ends
+final class CsvGroupConverter extends GroupConverter implements JsonBufferParent {
+
+  private final TextBuffer line;
+  private final byte delimiter;
+  private final TextBuffer[] cells;
+  private final boolean[] present;
+  private final boolean[] repeated;
+  private final boolean[] quoted;
+  private final Converter[] converters;
+
+  CsvGroupConverter(MessageType schema, TextBuffer line, byte delimiter) {
+    this.line = requireNonNull(line);
+    this.delimiter = delimiter;
+    int size = schema.getFieldCount();
+    this.cells = new TextBuffer[size];
+    this.present = new boolean[size];
+    this.repeated = new boolean[size];
+    this.quoted = new boolean[size];
+    this.converters = new Converter[size];
+    for (int i = 0; i < size; i++) {
+      var fieldType = schema.getType(i);
+      cells[i] = new TextBuffer();
+      repeated[i] = fieldType.isRepetition(Repetition.REPEATED);
+      quoted[i] = !repeated[i] && isString(fieldType);
+      converters[i] = quoted[i]
+          ? new CsvStringConverter(cells[i], this, i)
+          : JsonBufferGroupConverter.buildConverter(fieldType, cells[i], this, i);
+    }
+  }
+
+  @Override
+  public Converter getConverter(int fieldIndex) {
+    return converters[fieldIndex];
+  }
+
+  @Override
+  public void start() {
+    for (int i = 0; i < cells.length; i++) {
+      cells[i].reset();
+      present[i] = false;
+    }
+  }
+
+  @Override
+  public void end() {
+    line.reset();
+    for (int i = 0; i < cells.length; i++) {
+      if (i > 0) {
+        line.append(delimiter);
+      }
+      if (!present[i]) {
+        continue;
+      }
+      if (repeated[i]) {
+        cells[i].append((byte) ']');
+      }
+      if (quoted[i]) {
+        line.append(cells[i]);
+      } else {
+        line.appendCsvField(cells[i], delimiter);
+      }
+    }
+  }
+
+  @Override
+  public void beforeValue(int index) {
+    if (repeated[index]) {
+      cells[index].append((byte) (present[index] ? ',' : '['));
+    }
+    present[index] = true;
+  }
+
+  private static boolean isString(Type fieldType) {
+    return fieldType.isPrimitive()
+        && fieldType.asPrimitiveType().getPrimitiveTypeName() == PrimitiveTypeName.BINARY;
+  }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq.internal;
+
+import org.apache.parquet.io.api.GroupConverter;
+import org.apache.parquet.io.api.RecordMaterializer;
+import org.apache.parquet.schema.MessageType;
+
+final class CsvRecordMaterializer extends RecordMaterializer<TextBuffer> {
+
+  private final TextBuffer line = new TextBuffer();
+  private final CsvGroupConverter root;
+
+  CsvRecordMaterializer(MessageType requestedSchema, byte delimiter) {
+    this.root = new CsvGroupConverter(requestedSchema, line, delimiter);
+  }
+
+  @Override
+  public TextBuffer getCurrentRecord() {
+    return line;
+  }
+
+  @Override
+  public GroupConverter getRootConverter() {
+    return root;
+  }
+}
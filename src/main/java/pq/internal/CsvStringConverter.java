@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import org.apache.parquet.column.Dictionary;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.PrimitiveConverter;
+
+// strings are always quoted, dictionary values are quoted only once
+final class CsvStringConverter extends PrimitiveConverter {
+
+  private final TextBuffer buffer;
+  private final JsonBufferParent parent;
+  private final int fieldIndex;
+
+  private byte[][] dictionary = new byte[0][];
+
+  CsvStringConverter(TextBuffer buffer, JsonBufferParent parent, int fieldIndex) {
+    this.buffer = requireNonNull(buffer);
+    this.parent = requireNonNull(parent);
+    this.fieldIndex = fieldIndex;
+  }
+
+  @Override
+  public void addBinary(Binary value) {
+    parent.beforeValue(fieldIndex);
+    buffer.appendCsvQuoted(value);
+  }
+
+  @Override
+  public void addValueFromDictionary(int dictionaryId) {
+    parent.beforeValue(fieldIndex);
+    buffer.append(dictionary[dictionaryId]);
+  }
+
+  @Override
+  public void setDictionary(Dictionary dictionary) {
+    var quoted = new TextBuffer();
+    this.dictionary = new byte[dictionary.getMaxId() + 1][];
+    for (int i = 0; i < this.dictionary.length; i++) {
+      quoted.reset();
+      quoted.appendCsvQuoted(dictionary.decodeToBinary(i));
+      this.dictionary[i] = quoted.toByteArray();
+    }
+  }
+
+  @Override
+  public boolean hasDictionarySupport() {
+    return true;
+  }
+}
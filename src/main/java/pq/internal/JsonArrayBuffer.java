@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonValue;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+// elements of a repeated field or a list, it's reused between records
+final class JsonArrayBuffer {
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private final JsonRow.Kind kind;
+
+  private long[] longs = new long[0];
+  private double[] doubles = new double[0];
+  private Object[] objects = new Object[0];
+  private int size;
+
+  JsonArrayBuffer(JsonRow.Kind kind) {
+    this.kind = requireNonNull(kind);
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  void reset() {
+    Arrays.fill(objects, 0, size, null);
+    size = 0;
+  }
+
+  JsonArray toJson() {
+    var array = new JsonArray();
+    for (int i = 0; i < size; i++) {
+      array.add(value(i));
+    }
+    return array;
+  }
+
+  PrimitiveSink.OfInt intSink() {
+    return i -> {
+      ensureCapacity();
+      longs[size++] = i;
+    };
+  }
+
+  PrimitiveSink.OfLong longSink() {
+    return l -> {
+      ensureCapacity();
+      longs[size++] = l;
+    };
+  }
+
+  PrimitiveSink.OfFloat floatSink() {
+    return f -> {
+      ensureCapacity();
+      doubles[size++] = f;
+    };
+  }
+
+  PrimitiveSink.OfDouble doubleSink() {
+    return d -> {
+      ensureCapacity();
+      doubles[size++] = d;
+    };
+  }
+
+  PrimitiveSink.OfBoolean booleanSink() {
+    return b -> {
+      ensureCapacity();
+      longs[size++] = b ? 1 : 0;
+    };
+  }
+
+  <T> Consumer<T> objectSink() {
+    return o -> {
+      ensureCapacity();
+      objects[size++] = o;
+    };
+  }
+
+  private JsonValue value(int index) {
+    return switch (kind) {
+      case INT -> Json.value((int) longs[index]);
+      case LONG -> Json.value(longs[index]);
+      case FLOAT -> Json.value((float) doubles[index]);
+      case DOUBLE -> Json.value(doubles[index]);
+      case BOOLEAN -> Json.value(longs[index] != 0);
+      case STRING -> Json.value((String) objects[index]);
+      case BYTES -> JsonRow.toArray((byte[]) objects[index]);
+      case VALUE -> (JsonValue) objects[index];
+    };
+  }
+
+  // only the storage used by the kind of the elements grows
+  private void ensureCapacity() {
+    switch (kind) {
+      case INT, LONG, BOOLEAN -> {
+        if (size == longs.length) {
+          longs = Arrays.copyOf(longs, Math.max(INITIAL_CAPACITY, size * 2));
+        }
+      }
+      case FLOAT, DOUBLE -> {
+        if (size == doubles.length) {
+          doubles = Arrays.copyOf(doubles, Math.max(INITIAL_CAPACITY, size * 2));
+        }
+      }
+      case STRING, BYTES, VALUE -> {
+        if (size == objects.length) {
+          objects = Arrays.copyOf(objects, Math.max(INITIAL_CAPACITY, size * 2));
+        }
+      }
+    }
+  }
+}
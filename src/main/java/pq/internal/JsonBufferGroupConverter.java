@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq.internal;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+
+import com.eclipsesource.json.Json;
+
+import org.apache.parquet.io.api.Converter;
+import org.apache.parquet.io.api.GroupConverter;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.LogicalTypeAnnotation;
+import org.apache.parquet.schema.Type;
+import org.apache.parquet.schema.Type.Repetition;
+
+// writes the fields in schema order, fields not present in the record are written as null
+final class JsonBufferGroupConverter extends GroupConverter implements JsonBufferParent {
+
+  private final TextBuffer buffer;
+  private final JsonBufferParent parent;
+  private final int fieldIndex;
+  private final byte[][] names;
+  private final boolean[] repeated;
+  private final Converter[] converters;
+
+  private int next;
+  private int openArray = -1;
+
+  JsonBufferGroupConverter(GroupType schema, TextBuffer buffer, JsonBufferParent parent, int fieldIndex) {
+    this.buffer = requireNonNull(buffer);
+    this.parent = requireNonNull(parent);
+    this.fieldIndex = fieldIndex;
+    this.names = new byte[schema.getFieldCount()][];
+    this.repeated = new boolean[schema.getFieldCount()];
+    this.converters = new Converter[schema.getFieldCount()];
+    for (int i = 0; i < schema.getFieldCount(); i++) {
+      var fieldType = schema.getType(i);
+      names[i] = (Json.value(fieldType.getName()) + ":").getBytes(UTF_8);
+      repeated[i] = fieldType.isRepetition(Repetition.REPEATED);
+      converters[i] = buildConverter(fieldType, buffer, this, i);
+    }
+  }
+
+  @Override
+  public Converter getConverter(int fieldIndex) {
+    return converters[fieldIndex];
+  }
+
+  @Override
+  public void start() {
+    parent.beforeValue(fieldIndex);
+    buffer.append((byte) '{');
+    next = 0;
+    openArray = -1;
+  }
+
+  @Override
+  public void end() {
+    closeArray();
+    nullsUntil(names.length);
+    buffer.append((byte) '}');
+  }
+
+  @Override
+  public void beforeValue(int index) {
+    if (index == openArray) {
+      buffer.append((byte) ',');
+      return;
+    }
+    closeArray();
+    nullsUntil(index);
+    name(index);
+    next = index + 1;
+    if (repeated[index]) {
+      buffer.append((byte) '[');
+      openArray = index;
+    }
+  }
+
+  private void closeArray() {
+    if (openArray >= 0) {
+      buffer.append((byte) ']');
+      openArray = -1;
+    }
+  }
+
+  private void nullsUntil(int index) {
+    for (; next < index; next++) {
+      name(next);
+      buffer.appendNull();
+    }
+  }
+
+  private void name(int index) {
+    if (index > 0) {
+      buffer.append((byte) ',');
+    }
+    buffer.append(names[index]);
+  }
+
+  static Converter buildConverter(Type fieldType, TextBuffer buffer, JsonBufferParent parent, int index) {
+    if (fieldType.isPrimitive()) {
+      return new JsonBufferPrimitiveConverter(fieldType.asPrimitiveType(), buffer, parent, index);
+    }
+    var groupType = fieldType.asGroupType();
+    if (!fieldType.isRepetition(Repetition.REPEATED)
+        && LogicalTypeAnnotation.listType().equals(groupType.getLogicalTypeAnnotation())) {
+      return new JsonBufferListConverter(groupType, buffer, parent, index);
+    }
+    return new JsonBufferGroupConverter(groupType, buffer, parent, index);
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import org.apache.parquet.io.api.Converter;
+import org.apache.parquet.io.api.GroupConverter;
+import org.apache.parquet.schema.GroupType;
+
+final class JsonBufferListConverter extends GroupConverter implements JsonBufferParent {
+
+  private final TextBuffer buffer;
+  private final JsonBufferParent parent;
+  private final int fieldIndex;
+  private final Converter converter;
+
+  private boolean empty;
+
+  JsonBufferListConverter(GroupType schema, TextBuffer buffer, JsonBufferParent parent, int fieldIndex) {
+    this.buffer = requireNonNull(buffer);
+    this.parent = requireNonNull(parent);
+    this.fieldIndex = fieldIndex;
+
+    var fieldType = schema.getFields().get(0);
+    if (fieldType.isPrimitive()) {
+      this.converter = new JsonBufferPrimitiveConverter(fieldType.asPrimitiveType(), buffer, this, 0);
+    } else {
+      this.converter = new JsonBufferGroupConverter(fieldType.asGroupType(), buffer, this, 0);
+    }
+  }
+
+  @Override
+  public Converter getConverter(int fieldIndex) {
+    return converter;
+  }
+
+  @Override
+  public void start() {
+    parent.beforeValue(fieldIndex);
+    buffer.append((byte) '[');
+    empty = true;
+  }
+
+  @Override
+  public void end() {
+    buffer.append((byte) ']');
+  }
+
+  @Override
+  public void beforeValue(int index) {
+    if (!empty) {
+      buffer.append((byte) ',');
+    }
+    empty = false;
+  }
+}
@@ -0,0 +1,12 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq.internal;
+
+@FunctionalInterface
+interface JsonBufferParent {
+
+  // called before a child converter writes the value of the given field
+  void beforeValue(int fieldIndex);
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import org.apache.parquet.column.Dictionary;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.PrimitiveConverter;
+import org.apache.parquet.schema.PrimitiveType;
+
+final class JsonBufferPrimitiveConverter extends PrimitiveConverter {
+
+  private final TextBuffer buffer;
+  private final JsonBufferParent parent;
+  private final int fieldIndex;
+  private final boolean string;
+  private final boolean binary;
+
+  private byte[][] dictionary = new byte[0][];
+
+  JsonBufferPrimitiveConverter(PrimitiveType type, TextBuffer buffer, JsonBufferParent parent, int fieldIndex) {
+    if (type.getPrimitiveTypeName() == PrimitiveType.PrimitiveTypeName.INT96) {
+      throw new UnsupportedOperationException("not supported type INT96");
+    }
+    this.buffer = requireNonNull(buffer);
+    this.parent = requireNonNull(parent);
+    this.fieldIndex = fieldIndex;
+    this.string = type.getPrimitiveTypeName() == PrimitiveType.PrimitiveTypeName.BINARY;
+    this.binary = string || type.getPrimitiveTypeName() == PrimitiveType.PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY;
+  }
+
+  @Override
+  public void addInt(int value) {
+    parent.beforeValue(fieldIndex);
+    buffer.appendInt(value);
+  }
+
+  @Override
+  public void addLong(long value) {
+    parent.beforeValue(fieldIndex);
+    buffer.appendLong(value);
+  }
+
+  @Override
+  public void addFloat(float value) {
+    parent.beforeValue(fieldIndex);
+    buffer.appendFloat(value);
+  }
+
+  @Override
+  public void addDouble(double value) {
+    parent.beforeValue(fieldIndex);
+    buffer.appendDouble(value);
+  }
+
+  @Override
+  public void addBoolean(boolean value) {
+    parent.beforeValue(fieldIndex);
+    buffer.appendBoolean(value);
+  }
+
+  @Override
+  public void addBinary(Binary value) {
+    parent.beforeValue(fieldIndex);
+    append(buffer, value);
+  }
+
+  @Override
+  public void addValueFromDictionary(int dictionaryId) {
+    parent.beforeValue(fieldIndex);
+    buffer.append(dictionary[dictionaryId]);
+  }
+
+  // every value of the dictionary is escaped only once
+  @Override
+  public void setDictionary(Dictionary dictionary) {
+    var encoded = new TextBuffer();
+    this.dictionary = new byte[dictionary.getMaxId() + 1][];
+    for (int i = 0; i < this.dictionary.length; i++) {
+      encoded.reset();
+      append(encoded, dictionary.decodeToBinary(i));
+      this.dictionary[i] = encoded.toByteArray();
+    }
+  }
+
+  @Override
+  public boolean hasDictionarySupport() {
+    return binary;
+  }
+
+  private void append(TextBuffer target, Binary value) {
+    if (string) {
+      target.appendString(value);
+    } else {
+      target.appendByteArray(value);
+    }
+  }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq.internal;
+
+import org.apache.parquet.io.api.GroupConverter;
+import org.apache.parquet.io.api.RecordMaterializer;
+import org.apache.parquet.schema.MessageType;
+
+final class JsonBufferRecordMaterializer extends RecordMaterializer<TextBuffer> {
+
+  private final TextBuffer buffer = new TextBuffer();
+  private final JsonBufferGroupConverter root;
+
+  JsonBufferRecordMaterializer(MessageType requestedSchema) {
+    // the buffer is reused, it's cleared when a new record starts
+    this.root = new JsonBufferGroupConverter(requestedSchema, buffer, i -> buffer.reset(), 0);
+  }
+
+  @Override
+  public TextBuffer getCurrentRecord() {
+    return buffer;
+  }
+
+  @Override
+  public GroupConverter getRootConverter() {
+    return root;
+  }
+}
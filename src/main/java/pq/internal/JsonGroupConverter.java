@@ -27,20 +27,18 @@ import com.eclipsesource.json.JsonValue;
 
 final class JsonGroupConverter extends GroupConverter {
 
-  private final GroupType schema;
   private final Consumer<JsonValue> consumer;
   private final Converter[] converters;
 
-  private final JsonObjectHolder value = new JsonObjectHolder();
+  private final JsonRow value;
 
   // TODO: add support to repeted groups and logical types
   JsonGroupConverter(GroupType schema, Consumer<JsonValue> consumer) {
-    this.schema = requireNonNull(schema);
     this.consumer = requireNonNull(consumer);
+    this.value = new JsonRow(schema);
     this.converters = new Converter[schema.getFieldCount()];
-    for (var fieldType : schema.getFields()) {
-      int fieldIndex = schema.getFieldIndex(fieldType.getName());
-      converters[fieldIndex] = buildConverter(fieldType);
+    for (int i = 0; i < schema.getFieldCount(); i++) {
+      converters[i] = buildConverter(schema.getType(i), i);
     }
   }
 
@@ -51,56 +49,43 @@ final class JsonGroupConverter extends GroupConverter {
 
   @Override
   public void start() {
-    value.create(schema);
+    value.reset();
   }
 
   @Override
   public void end() {
-    value.accept(consumer);
+    consumer.accept(value.toJson());
   }
 
-  private Converter buildConverter(Type fieldType) {
-    var fieldName = fieldType.getName();
+  private Converter buildConverter(Type fieldType, int fieldIndex) {
     if (fieldType.isRepetition(Repetition.REPEATED)) {
       if (fieldType.isPrimitive()) {
-        return buildPrimitiveArrayConverter(fieldType.asPrimitiveType(), fieldName);
+        return buildPrimitiveConverter(fieldType.asPrimitiveType(), fieldIndex);
       }
       var groupType = fieldType.asGroupType();
-      return new JsonGroupConverter(groupType, value.addValue(fieldName));
+      return new JsonGroupConverter(groupType, value.objectSink(fieldIndex));
     } else if (fieldType.isPrimitive()) {
-      return buildPrimitiveConverter(fieldType.asPrimitiveType(), fieldName);
+      return buildPrimitiveConverter(fieldType.asPrimitiveType(), fieldIndex);
     }
     // group type
     var groupType = fieldType.asGroupType();
     if (groupType.getLogicalTypeAnnotation() != null
         && groupType.getLogicalTypeAnnotation().equals(LogicalTypeAnnotation.listType())) {
-      return new JsonListConverter(groupType, value.setValue(fieldName));
+      return new JsonListConverter(groupType, value.objectSink(fieldIndex));
     }
-    return new JsonGroupConverter(groupType, value.setValue(fieldName));
+    return new JsonGroupConverter(groupType, value.objectSink(fieldIndex));
   }
 
-  private Converter buildPrimitiveConverter(PrimitiveType fieldType, String fieldName) {
+  // repeated fields are handled by the row, values are added to an array
+  private Converter buildPrimitiveConverter(PrimitiveType fieldType, int fieldIndex) {
     return switch (fieldType.getPrimitiveTypeName()) {
-      case INT32 -> intConverter(value.setInt(fieldName));
-      case INT64 -> longConverter(value.setLong(fieldName));
-      case FLOAT -> floatConverter(value.setFloat(fieldName));
-      case DOUBLE -> doubleConverter(value.setDouble(fieldName));
-      case BOOLEAN -> booleanConverter(value.setBoolean(fieldName));
-      case BINARY -> stringConverter(value.setString(fieldName));
-      case FIXED_LEN_BYTE_ARRAY -> byteArrayConverter(value.setByteArray(fieldName));
-      case INT96 -> throw new UnsupportedOperationException("not supported type INT96");
-    };
-  }
-
-  private Converter buildPrimitiveArrayConverter(PrimitiveType fieldType, String fieldName) {
-    return switch (fieldType.getPrimitiveTypeName()) {
-      case INT32 -> intConverter(value.addInt(fieldName));
-      case INT64 -> longConverter(value.addLong(fieldName));
-      case FLOAT -> floatConverter(value.addFloat(fieldName));
-      case DOUBLE -> doubleConverter(value.addDouble(fieldName));
-      case BOOLEAN -> booleanConverter(value.addBoolean(fieldName));
-      case BINARY -> stringConverter(value.addString(fieldName));
-      case FIXED_LEN_BYTE_ARRAY -> byteArrayConverter(value.addByteArray(fieldName));
+      case INT32 -> intConverter(value.intSink(fieldIndex));
+      case INT64 -> longConverter(value.longSink(fieldIndex));
+      case FLOAT -> floatConverter(value.floatSink(fieldIndex));
+      case DOUBLE -> doubleConverter(value.doubleSink(fieldIndex));
+      case BOOLEAN -> booleanConverter(value.booleanSink(fieldIndex));
+      case BINARY -> stringConverter(value.objectSink(fieldIndex));
+      case FIXED_LEN_BYTE_ARRAY -> byteArrayConverter(value.objectSink(fieldIndex));
       case INT96 -> throw new UnsupportedOperationException("not supported type INT96");
     };
   }
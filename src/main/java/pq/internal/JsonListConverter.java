@@ -24,28 +24,29 @@ import org.apache.parquet.schema.PrimitiveType;
 final class JsonListConverter extends GroupConverter {
 
   private final Consumer<JsonValue> consumer;
-  private final JsonArrayHolder value = new JsonArrayHolder();
+  private final JsonArrayBuffer value;
   private final Converter converter;
 
   JsonListConverter(GroupType schema, Consumer<JsonValue> consumer) {
     this.consumer = requireNonNull(consumer);
 
     var fieldType = schema.getFields().get(0);
+    this.value = new JsonArrayBuffer(JsonRow.Kind.of(fieldType));
     if (fieldType.isPrimitive()) {
       this.converter = buildPrimitiveConverter(fieldType.asPrimitiveType());
     } else {
-      this.converter = new JsonGroupConverter(schema.getFields().get(0).asGroupType(), value.addValue());
+      this.converter = new JsonGroupConverter(schema.getFields().get(0).asGroupType(), value.objectSink());
     }
   }
 
   private Converter buildPrimitiveConverter(PrimitiveType fieldType) {
     return switch (fieldType.getPrimitiveTypeName()) {
-      case INT32 -> intConverter(value.addInt());
-      case INT64 -> longConverter(value.addLong());
-      case FLOAT -> floatConverter(value.addFloat());
-      case DOUBLE -> doubleConverter(value.addDouble());
-      case BOOLEAN -> booleanConverter(value.addBoolean());
-      case BINARY -> stringConverter(value.addString());
+      case INT32 -> intConverter(value.intSink());
+      case INT64 -> longConverter(value.longSink());
+      case FLOAT -> floatConverter(value.floatSink());
+      case DOUBLE -> doubleConverter(value.doubleSink());
+      case BOOLEAN -> booleanConverter(value.booleanSink());
+      case BINARY -> stringConverter(value.objectSink());
       default -> throw new UnsupportedOperationException("not supported type: " + fieldType);
     };
   }
@@ -57,11 +58,11 @@ final class JsonListConverter extends GroupConverter {
 
   @Override
   public void start() {
-    value.create();
+    value.reset();
   }
 
   @Override
   public void end() {
-    value.accept(consumer);
+    consumer.accept(value.toJson());
   }
 }
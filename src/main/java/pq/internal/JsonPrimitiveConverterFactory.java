@@ -10,29 +10,28 @@ import org.apache.parquet.column.Dictionary;
 import org.apache.parquet.io.api.Binary;
 import org.apache.parquet.io.api.Converter;
 import org.apache.parquet.io.api.PrimitiveConverter;
-import org.jspecify.annotations.Nullable;
 
 final class JsonPrimitiveConverterFactory {
 
   private JsonPrimitiveConverterFactory() { }
 
-  static Converter intConverter(Consumer<Integer> consumer) {
+  static Converter intConverter(PrimitiveSink.OfInt consumer) {
     return new IntegerConverter(consumer);
   }
 
-  static Converter longConverter(Consumer<Long> consumer) {
+  static Converter longConverter(PrimitiveSink.OfLong consumer) {
     return new LongConverter(consumer);
   }
 
-  static Converter floatConverter(Consumer<Float> consumer) {
+  static Converter floatConverter(PrimitiveSink.OfFloat consumer) {
     return new FloatConverter(consumer);
   }
 
-  static Converter doubleConverter(Consumer<Double> consumer) {
+  static Converter doubleConverter(PrimitiveSink.OfDouble consumer) {
     return new DoubleConverter(consumer);
   }
 
-  static Converter booleanConverter(Consumer<Boolean> consumer) {
+  static Converter booleanConverter(PrimitiveSink.OfBoolean consumer) {
     return new BooleanConverter(consumer);
   }
 
@@ -46,9 +45,9 @@ final class JsonPrimitiveConverterFactory {
 
   static final class IntegerConverter extends PrimitiveConverter {
 
-    private final Consumer<Integer> consumer;
+    private final PrimitiveSink.OfInt consumer;
 
-    public IntegerConverter(Consumer<Integer> consumer) {
+    public IntegerConverter(PrimitiveSink.OfInt consumer) {
       this.consumer = consumer;
     }
 
@@ -60,9 +59,9 @@ final class JsonPrimitiveConverterFactory {
 
   static final class LongConverter extends PrimitiveConverter {
 
-    private final Consumer<Long> consumer;
+    private final PrimitiveSink.OfLong consumer;
 
-    public LongConverter(Consumer<Long> consumer) {
+    public LongConverter(PrimitiveSink.OfLong consumer) {
       this.consumer = consumer;
     }
 
@@ -74,9 +73,9 @@ final class JsonPrimitiveConverterFactory {
 
   static final class FloatConverter extends PrimitiveConverter {
 
-    private final Consumer<Float> consumer;
+    private final PrimitiveSink.OfFloat consumer;
 
-    public FloatConverter(Consumer<Float> consumer) {
+    public FloatConverter(PrimitiveSink.OfFloat consumer) {
       this.consumer = consumer;
     }
 
@@ -88,9 +87,9 @@ final class JsonPrimitiveConverterFactory {
 
   static final class DoubleConverter extends PrimitiveConverter {
 
-    private final Consumer<Double> consumer;
+    private final PrimitiveSink.OfDouble consumer;
 
-    public DoubleConverter(Consumer<Double> consumer) {
+    public DoubleConverter(PrimitiveSink.OfDouble consumer) {
       this.consumer = consumer;
     }
 
@@ -102,9 +101,9 @@ final class JsonPrimitiveConverterFactory {
 
   static final class BooleanConverter extends PrimitiveConverter {
 
-    private final Consumer<Boolean> consumer;
+    private final PrimitiveSink.OfBoolean consumer;
 
-    public BooleanConverter(Consumer<Boolean> consumer) {
+    public BooleanConverter(PrimitiveSink.OfBoolean consumer) {
       this.consumer = consumer;
     }
 
@@ -114,11 +113,11 @@ final class JsonPrimitiveConverterFactory {
     }
   }
 
+  // dictionary pages are decoded once, values are emitted by index
   static final class StringConverter extends PrimitiveConverter {
 
     private final Consumer<String> consumer;
-    @Nullable
-    private Dictionary dictionary;
+    private String[] dictionary = new String[0];
 
     public StringConverter(Consumer<String> consumer) {
       this.consumer = consumer;
@@ -131,15 +130,15 @@ final class JsonPrimitiveConverterFactory {
 
     @Override
     public void addValueFromDictionary(int dictionaryId) {
-      if (dictionary == null) {
-        throw new IllegalStateException();
-      }
-      addBinary(dictionary.decodeToBinary(dictionaryId));
+      consumer.accept(dictionary[dictionaryId]);
     }
 
     @Override
     public void setDictionary(Dictionary dictionary) {
-      this.dictionary = dictionary;
+      this.dictionary = new String[dictionary.getMaxId() + 1];
+      for (int i = 0; i < this.dictionary.length; i++) {
+        this.dictionary[i] = dictionary.decodeToBinary(i).toStringUsingUTF8();
+      }
     }
 
     @Override
@@ -151,6 +150,7 @@ final class JsonPrimitiveConverterFactory {
   static final class ByteArrayConverter extends PrimitiveConverter {
 
     private final Consumer<byte[]> consumer;
+    private byte[][] dictionary = new byte[0][];
 
     public ByteArrayConverter(Consumer<byte[]> consumer) {
       this.consumer = consumer;
@@ -160,5 +160,24 @@ final class JsonPrimitiveConverterFactory {
     public void addBinary(Binary value) {
       consumer.accept(value.getBytes());
     }
+
+    // the same array is shared by all the values with the same id, it's never modified
+    @Override
+    public void addValueFromDictionary(int dictionaryId) {
+      consumer.accept(dictionary[dictionaryId]);
+    }
+
+    @Override
+    public void setDictionary(Dictionary dictionary) {
+      this.dictionary = new byte[dictionary.getMaxId() + 1][];
+      for (int i = 0; i < this.dictionary.length; i++) {
+        this.dictionary[i] = dictionary.decodeToBinary(i).getBytes();
+      }
+    }
+
+    @Override
+    public boolean hasDictionarySupport() {
+      return true;
+    }
   }
 }
@@ -4,6 +4,7 @@
  */
 package pq.internal;
 
+import com.eclipsesource.json.Json;
 import com.eclipsesource.json.JsonValue;
 
 import org.apache.parquet.io.api.GroupConverter;
@@ -13,16 +14,15 @@ import org.apache.parquet.schema.MessageType;
 final class JsonRecordMaterializer extends RecordMaterializer<JsonValue> {
 
   private final JsonGroupConverter root;
-  private final JsonObjectHolder value;
+  private JsonValue current = Json.NULL;
 
   JsonRecordMaterializer(MessageType requestedSchema) {
-    this.value = new JsonObjectHolder();
-    this.root = new JsonGroupConverter(requestedSchema, value.set());
+    this.root = new JsonGroupConverter(requestedSchema, value -> current = value);
   }
 
   @Override
   public JsonValue getCurrentRecord() {
-    return value.get();
+    return current;
   }
 
   @Override
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq.internal;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonArray;
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.JsonValue;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.Type;
+import org.apache.parquet.schema.Type.Repetition;
+
+// values of a record addressed by field index, it's reused between records,
+// the json object is built only when the record ends
+final class JsonRow {
+
+  enum Kind {
+    INT, LONG, FLOAT, DOUBLE, BOOLEAN, STRING, BYTES, VALUE;
+
+    static Kind of(Type type) {
+      if (!type.isPrimitive()) {
+        return VALUE;
+      }
+      return switch (type.asPrimitiveType().getPrimitiveTypeName()) {
+        case INT32 -> INT;
+        case INT64 -> LONG;
+        case FLOAT -> FLOAT;
+        case DOUBLE -> DOUBLE;
+        case BOOLEAN -> BOOLEAN;
+        case BINARY -> STRING;
+        case FIXED_LEN_BYTE_ARRAY -> BYTES;
+        case INT96 -> throw new UnsupportedOperationException("not supported type INT96");
+      };
+    }
+  }
+
+  private final String[] names;
+  private final Kind[] kinds;
+  private final boolean[] present;
+  private final long[] longs;
+  private final double[] doubles;
+  private final Object[] objects;
+  private final JsonArrayBuffer[] arrays;
+
+  JsonRow(GroupType schema) {
+    int size = schema.getFieldCount();
+    this.names = new String[size];
+    this.kinds = new Kind[size];
+    this.present = new boolean[size];
+    this.longs = new long[size];
+    this.doubles = new double[size];
+    this.objects = new Object[size];
+    this.arrays = new JsonArrayBuffer[size];
+    for (int i = 0; i < size; i++) {
+      var fieldType = schema.getType(i);
+      names[i] = fieldType.getName();
+      kinds[i] = Kind.of(fieldType);
+      if (fieldType.isRepetition(Repetition.REPEATED)) {
+        arrays[i] = new JsonArrayBuffer(kinds[i]);
+      }
+    }
+  }
+
+  void reset() {
+    Arrays.fill(present, false);
+    Arrays.fill(objects, null);
+    for (var array : arrays) {
+      if (array != null) {
+        array.reset();
+      }
+    }
+  }
+
+  JsonObject toJson() {
+    var object = new JsonObject();
+    for (int i = 0; i < names.length; i++) {
+      object.add(names[i], isPresent(i) ? value(i) : Json.NULL);
+    }
+    return object;
+  }
+
+  PrimitiveSink.OfInt intSink(int index) {
+    if (arrays[index] != null) {
+      return arrays[index].intSink();
+    }
+    return i -> {
+      longs[index] = i;
+      present[index] = true;
+    };
+  }
+
+  PrimitiveSink.OfLong longSink(int index) {
+    if (arrays[index] != null) {
+      return arrays[index].longSink();
+    }
+    return l -> {
+      longs[index] = l;
+      present[index] = true;
+    };
+  }
+
+  PrimitiveSink.OfFloat floatSink(int index) {
+    if (arrays[index] != null) {
+      return arrays[index].floatSink();
+    }
+    return f -> {
+      doubles[index] = f;
+      present[index] = true;
+    };
+  }
+
+  PrimitiveSink.OfDouble doubleSink(int index) {
+    if (arrays[index] != null) {
+      return arrays[index].doubleSink();
+    }
+    return d -> {
+      doubles[index] = d;
+      present[index] = true;
+    };
+  }
+
+  PrimitiveSink.OfBoolean booleanSink(int index) {
+    if (arrays[index] != null) {
+      return arrays[index].booleanSink();
+    }
+    return b -> {
+      longs[index] = b ? 1 : 0;
+      present[index] = true;
+    };
+  }
+
+  <T> Consumer<T> objectSink(int index) {
+    if (arrays[index] != null) {
+      return arrays[index].objectSink();
+    }
+    return o -> {
+      objects[index] = o;
+      present[index] = true;
+    };
+  }
+
+  private boolean isPresent(int index) {
+    return arrays[index] != null ? !arrays[index].isEmpty() : present[index];
+  }
+
+  private JsonValue value(int index) {
+    if (arrays[index] != null) {
+      return arrays[index].toJson();
+    }
+    return switch (kinds[index]) {
+      case INT -> Json.value((int) longs[index]);
+      case LONG -> Json.value(longs[index]);
+      case FLOAT -> Json.value((float) doubles[index]);
+      case DOUBLE -> Json.value(doubles[index]);
+      case BOOLEAN -> Json.value(longs[index] != 0);
+      case STRING -> Json.value((String) objects[index]);
+      case BYTES -> toArray((byte[]) objects[index]);
+      case VALUE -> (JsonValue) objects[index];
+    };
+  }
+
+  static JsonArray toArray(byte[] byteArray) {
+    var jsonArray = new JsonArray();
+    for (var b : byteArray) {
+      jsonArray.add(b);
+    }
+    return jsonArray;
+  }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq.internal;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.internal.column.columnindex.OffsetIndex;
+import org.apache.parquet.internal.filter2.columnindex.RowRanges;
+import org.jspecify.annotations.Nullable;
+
+// pages of a row group from the page that contains the given row to the end,
+// firstRow is the first row of the selected pages inside the row group
+record PageSelection(RowRanges ranges, long firstRow) {
+
+  // every column has its own pages, the one that starts closer to the row is used,
+  // the pages of other columns that overlap with it are selected by the reader
+  @Nullable
+  static PageSelection find(ParquetFileReader reader, BlockMetaData block, Set<ColumnPath> columns, long row) throws IOException {
+    PageSelection result = null;
+    for (var column : block.getColumns()) {
+      if (!columns.contains(column.getPath())) {
+        continue;
+      }
+      var offsetIndex = reader.readOffsetIndex(column);
+      if (offsetIndex == null) {
+        // pages can't be selected if any of the columns doesn't have offset index
+        return null;
+      }
+      int page = pageOf(offsetIndex, row);
+      long firstRow = offsetIndex.getFirstRowIndex(page);
+      if (result == null || firstRow > result.firstRow()) {
+        var pages = IntStream.range(page, offsetIndex.getPageCount()).iterator();
+        result = new PageSelection(RowRanges.create(block.getRowCount(), pages, offsetIndex), firstRow);
+      }
+    }
+    return result != null && result.firstRow() > 0 ? result : null;
+  }
+
+  private static int pageOf(OffsetIndex offsetIndex, long row) {
+    int page = 0;
+    while (page + 1 < offsetIndex.getPageCount() && offsetIndex.getFirstRowIndex(page + 1) <= row) {
+      page++;
+    }
+    return page;
+  }
+}
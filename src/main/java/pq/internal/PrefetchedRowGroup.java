@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PrimitiveIterator;
+
+import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.page.DataPage;
+import org.apache.parquet.column.page.DataPageV1;
+import org.apache.parquet.column.page.DataPageV2;
+import org.apache.parquet.column.page.DictionaryPage;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.column.page.PageReader;
+import org.jspecify.annotations.Nullable;
+
+final class PrefetchedRowGroup implements PageReadStore {
+
+  // pages are decompressed lazily when they are consumed, copying the bytes forces
+  // the decompression to happen here, in the prefetch thread
+  private static final DataPage.Visitor<DataPage> DECOMPRESS = new DataPage.Visitor<>() {
+
+    @Override
+    public DataPage visit(DataPageV1 page) {
+      var bytes = copy(page.getBytes());
+      var firstRowIndex = page.getFirstRowIndex();
+      var indexRowCount = page.getIndexRowCount();
+      if (firstRowIndex.isPresent() && indexRowCount.isPresent()) {
+        return new DataPageV1(bytes, page.getValueCount(), page.getUncompressedSize(),
+            firstRowIndex.get(), indexRowCount.get(), page.getStatistics(),
+            page.getRlEncoding(), page.getDlEncoding(), page.getValueEncoding());
+      }
+      return new DataPageV1(bytes, page.getValueCount(), page.getUncompressedSize(), page.getStatistics(),
+          page.getRlEncoding(), page.getDlEncoding(), page.getValueEncoding());
+    }
+
+    @Override
+    public DataPage visit(DataPageV2 page) {
+      var data = copy(page.getData());
+      var firstRowIndex = page.getFirstRowIndex();
+      if (firstRowIndex.isPresent()) {
+        return DataPageV2.uncompressed(page.getRowCount(), page.getNullCount(), page.getValueCount(),
+            firstRowIndex.get(), page.getRepetitionLevels(), page.getDefinitionLevels(),
+            page.getDataEncoding(), data, page.getStatistics());
+      }
+      return DataPageV2.uncompressed(page.getRowCount(), page.getNullCount(), page.getValueCount(),
+          page.getRepetitionLevels(), page.getDefinitionLevels(),
+          page.getDataEncoding(), data, page.getStatistics());
+    }
+
+    private static BytesInput copy(BytesInput bytes) {
+      try {
+        return BytesInput.copy(bytes);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  };
+
+  private final PageReadStore pages;
+  private final Map<ColumnDescriptor, PageReader> readers;
+
+  private PrefetchedRowGroup(PageReadStore pages, Map<ColumnDescriptor, PageReader> readers) {
+    this.pages = requireNonNull(pages);
+    this.readers = requireNonNull(readers);
+  }
+
+  static PrefetchedRowGroup load(PageReadStore pages, List<ColumnDescriptor> columns) throws IOException {
+    var readers = new HashMap<ColumnDescriptor, PageReader>();
+    for (var column : columns) {
+      readers.put(column, PrefetchedPageReader.load(pages.getPageReader(column)));
+    }
+    return new PrefetchedRowGroup(pages, readers);
+  }
+
+  @Override
+  public PageReader getPageReader(ColumnDescriptor descriptor) {
+    var reader = readers.get(descriptor);
+    if (reader == null) {
+      throw new IllegalArgumentException("column not prefetched: " + descriptor);
+    }
+    return reader;
+  }
+
+  @Override
+  public long getRowCount() {
+    return pages.getRowCount();
+  }
+
+  @Override
+  public Optional<Long> getRowIndexOffset() {
+    return pages.getRowIndexOffset();
+  }
+
+  @Override
+  public Optional<PrimitiveIterator.OfLong> getRowIndexes() {
+    return pages.getRowIndexes();
+  }
+
+  private static final class PrefetchedPageReader implements PageReader {
+
+    @Nullable
+    private final DictionaryPage dictionaryPage;
+    private final Deque<DataPage> dataPages;
+    private final long totalValueCount;
+
+    private PrefetchedPageReader(@Nullable DictionaryPage dictionaryPage, Deque<DataPage> dataPages, long totalValueCount) {
+      this.dictionaryPage = dictionaryPage;
+      this.dataPages = requireNonNull(dataPages);
+      this.totalValueCount = totalValueCount;
+    }
+
+    static PrefetchedPageReader load(PageReader reader) throws IOException {
+      var dictionaryPage = reader.readDictionaryPage();
+      var dataPages = new ArrayDeque<DataPage>();
+      for (var page = reader.readPage(); page != null; page = reader.readPage()) {
+        dataPages.add(page.accept(DECOMPRESS));
+      }
+      return new PrefetchedPageReader(
+          dictionaryPage != null ? dictionaryPage.copy() : null, dataPages, reader.getTotalValueCount());
+    }
+
+    @Override
+    @Nullable
+    public DictionaryPage readDictionaryPage() {
+      return dictionaryPage;
+    }
+
+    @Override
+    public long getTotalValueCount() {
+      return totalValueCount;
+    }
+
+    @Override
+    @Nullable
+    public DataPage readPage() {
+      return dataPages.poll();
+    }
+  }
+}
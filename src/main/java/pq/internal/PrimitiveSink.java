@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq.internal;
+
+interface PrimitiveSink {
+
+  @FunctionalInterface
+  interface OfInt {
+    void accept(int value);
+  }
+
+  @FunctionalInterface
+  interface OfLong {
+    void accept(long value);
+  }
+
+  @FunctionalInterface
+  interface OfFloat {
+    void accept(float value);
+  }
+
+  @FunctionalInterface
+  interface OfDouble {
+    void accept(double value);
+  }
+
+  @FunctionalInterface
+  interface OfBoolean {
+    void accept(boolean value);
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.page.PageReadStore;
+import org.jspecify.annotations.Nullable;
+
+final class RowGroupPrefetcher implements RowGroupSource {
+
+  private final RowGroupSource source;
+  private final BlockingQueue<Prefetched> queue;
+  private final ExecutorService executor;
+  private final List<ColumnDescriptor> columns;
+
+  private boolean started;
+  private boolean finished;
+
+  RowGroupPrefetcher(RowGroupSource source, List<ColumnDescriptor> columns, int lookahead) {
+    this.source = requireNonNull(source);
+    this.queue = new ArrayBlockingQueue<>(lookahead);
+    this.executor = Executors.newSingleThreadExecutor(Thread.ofPlatform().daemon().name("pq-prefetch").factory());
+    this.columns = List.copyOf(columns);
+  }
+
+  @Override
+  @Nullable
+  public PageReadStore next() throws IOException {
+    if (finished) {
+      return null;
+    }
+    // started on demand, so the reader can still be positioned before
+    if (!started) {
+      started = true;
+      executor.execute(this::prefetch);
+    }
+    try {
+      return switch (queue.take()) {
+        case Prefetched.Next(var pages) -> pages;
+        case Prefetched.End _ -> {
+          finished = true;
+          yield null;
+        }
+        case Prefetched.Failure(var error) -> {
+          finished = true;
+          if (error instanceof IOException e) {
+            throw e;
+          }
+          throw (RuntimeException) error;
+        }
+      };
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("interrupted while waiting for next row group");
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    // interrupts the prefetch thread if it's waiting for space in the queue,
+    // and waits until it finishes, so the file can be safely closed
+    executor.shutdownNow();
+    executor.close();
+    source.close();
+  }
+
+  private void prefetch() {
+    try {
+      for (var pages = source.next(); pages != null; pages = source.next()) {
+        queue.put(new Prefetched.Next(PrefetchedRowGroup.load(pages, columns)));
+      }
+      queue.put(new Prefetched.End());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (IOException | RuntimeException e) {
+      try {
+        queue.put(new Prefetched.Failure(e));
+      } catch (InterruptedException i) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private sealed interface Prefetched {
+    record Next(PageReadStore pages) implements Prefetched { }
+    record End() implements Prefetched { }
+    record Failure(Exception error) implements Prefetched { }
+  }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq.internal;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.toSet;
+
+import com.eclipsesource.json.JsonValue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.PrimitiveIterator;
+import java.util.stream.LongStream;
+
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.filter2.compat.FilterCompat.Filter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.internal.filter2.columnindex.RowRanges;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.MessageColumnIO;
+import org.apache.parquet.io.RecordReader;
+import org.apache.parquet.io.api.RecordMaterializer;
+import org.apache.parquet.schema.MessageType;
+import org.jspecify.annotations.Nullable;
+
+public final class RowGroupReader<T> implements Closeable {
+
+  private final MessageColumnIO columnIO;
+  private final RecordMaterializer<T> materializer;
+  private final Filter filter;
+  private final ParquetFileReader reader;
+  private final RowGroupSource source;
+
+  @Nullable
+  private RecordReader<T> recordReader;
+  private PrimitiveIterator.OfLong rowIndexes = LongStream.empty().iterator();
+  private long remaining;
+  private long currentRowIndex = -1;
+
+  private RowGroupReader(ParquetFileReader reader, MessageType projection,
+      RecordMaterializer<T> materializer, Filter filter, RowGroupSource source) {
+    this.reader = requireNonNull(reader);
+    this.materializer = requireNonNull(materializer);
+    this.filter = requireNonNull(filter);
+    this.source = requireNonNull(source);
+    var fileMetaData = reader.getFileMetaData();
+    this.columnIO = new ColumnIOFactory(fileMetaData.getCreatedBy()).getColumnIO(projection, fileMetaData.getSchema(), true);
+    reader.setRequestedSchema(projection);
+  }
+
+  public static RowGroupReader<JsonValue> json(ParquetFileReader reader, MessageType projection, Filter filter, int prefetch) {
+    return new RowGroupReader<>(reader, projection, new JsonRecordMaterializer(projection), filter,
+        RowGroupSource.of(reader, projection, prefetch));
+  }
+
+  // reads only the row groups given to seek
+  public static RowGroupReader<JsonValue> json(ParquetFileReader reader, MessageType projection, Filter filter) {
+    return new RowGroupReader<>(reader, projection, new JsonRecordMaterializer(projection), filter, () -> null);
+  }
+
+  // the returned buffer is reused, it's only valid until the next call to read
+  public static RowGroupReader<TextBuffer> csv(ParquetFileReader reader, MessageType projection, Filter filter,
+      int prefetch, byte delimiter) {
+    return new RowGroupReader<>(reader, projection, new CsvRecordMaterializer(projection, delimiter), filter,
+        RowGroupSource.of(reader, projection, prefetch));
+  }
+
+  // the returned buffer is reused, it's only valid until the next call to read
+  public static RowGroupReader<TextBuffer> buffer(ParquetFileReader reader, MessageType projection, Filter filter, int prefetch) {
+    return new RowGroupReader<>(reader, projection, new JsonBufferRecordMaterializer(projection), filter,
+        RowGroupSource.of(reader, projection, prefetch));
+  }
+
+  // reads only the row groups given to seek, the returned buffer is reused
+  public static RowGroupReader<TextBuffer> buffer(ParquetFileReader reader, MessageType projection, Filter filter) {
+    return new RowGroupReader<>(reader, projection, new JsonBufferRecordMaterializer(projection), filter, () -> null);
+  }
+
+  // discards the current row group and continues reading from the given one,
+  // the index refers to the row groups that remain after applying the filter
+  public void seek(int rowGroup) throws IOException {
+    loadIfPresent(reader.readFilteredRowGroup(rowGroup));
+  }
+
+  // same as seek, but only the rows in the given ranges are read, the pages
+  // without any row in them are not read at all
+  public void seek(int rowGroup, RowRanges ranges) throws IOException {
+    loadIfPresent(reader.readFilteredRowGroup(rowGroup, ranges));
+  }
+
+  // positions the reader in the given row before reading, the previous row groups
+  // are not read at all, and in the row group of the row only the pages with that
+  // row or later rows are read, when the offset index is available. Rows are
+  // counted from the start of the file, so it only makes sense without filter
+  public void skipTo(long row) throws IOException {
+    var blocks = reader.getRowGroups();
+    int rowGroup = 0;
+    long first = 0;
+    while (rowGroup < blocks.size() && first + blocks.get(rowGroup).getRowCount() <= row) {
+      first += blocks.get(rowGroup).getRowCount();
+      rowGroup++;
+    }
+    for (int i = 0; i <= rowGroup && i < blocks.size(); i++) {
+      reader.skipNextRowGroup();
+    }
+    if (rowGroup == blocks.size()) {
+      return;
+    }
+    long position = row - first;
+    var block = blocks.get(rowGroup);
+    var columns = columnIO.getLeaves().stream()
+        .map(leaf -> ColumnPath.get(leaf.getColumnDescriptor().getPath()))
+        .collect(toSet());
+    var selection = PageSelection.find(reader, block, columns, position);
+    PageReadStore pages = selection != null
+        ? reader.readFilteredRowGroup(rowGroup, selection.ranges())
+        : reader.readFilteredRowGroup(rowGroup);
+    if (pages == null) {
+      return;
+    }
+    load(pages);
+    var current = requireNonNull(recordReader);
+    for (long i = selection != null ? selection.firstRow() : 0; i < position && remaining > 0; i++) {
+      remaining--;
+      rowIndexes.nextLong();
+      current.read();
+    }
+  }
+
+  @Nullable
+  public T read() throws IOException {
+    while (true) {
+      if (remaining == 0 && !nextRowGroup()) {
+        return null;
+      }
+      var current = requireNonNull(recordReader);
+      remaining--;
+      long rowIndex = rowIndexes.nextLong();
+      var value = current.read();
+      if (value != null && !current.shouldSkipCurrentRecord()) {
+        currentRowIndex = rowIndex;
+        return value;
+      }
+    }
+  }
+
+  public long getCurrentRowIndex() {
+    return currentRowIndex;
+  }
+
+  @Override
+  public void close() throws IOException {
+    source.close();
+  }
+
+  private boolean nextRowGroup() throws IOException {
+    PageReadStore pages;
+    do {
+      pages = source.next();
+      if (pages == null) {
+        return false;
+      }
+    } while (pages.getRowCount() == 0);
+    load(pages);
+    return true;
+  }
+
+  // the file reader returns null for empty row groups
+  private void loadIfPresent(@Nullable PageReadStore pages) {
+    if (pages != null) {
+      load(pages);
+    } else {
+      remaining = 0;
+    }
+  }
+
+  private void load(PageReadStore pages) {
+    recordReader = columnIO.getRecordReader(pages, materializer, filter);
+    remaining = pages.getRowCount();
+    rowIndexes = rowIndexes(pages);
+  }
+
+  static PrimitiveIterator.OfLong rowIndexes(PageReadStore pages) {
+    var offset = pages.getRowIndexOffset();
+    if (offset.isEmpty()) {
+      return LongStream.generate(() -> -1).iterator();
+    }
+    long first = offset.get();
+    var indexes = pages.getRowIndexes();
+    if (indexes.isEmpty()) {
+      return LongStream.range(first, first + pages.getRowCount()).iterator();
+    }
+    var iterator = indexes.get();
+    return LongStream.generate(() -> first + iterator.nextLong()).limit(pages.getRowCount()).iterator();
+  }
+}
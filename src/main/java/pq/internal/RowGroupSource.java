@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq.internal;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.schema.MessageType;
+import org.jspecify.annotations.Nullable;
+
+@FunctionalInterface
+interface RowGroupSource extends Closeable {
+
+  @Nullable
+  PageReadStore next() throws IOException;
+
+  @Override
+  default void close() throws IOException {
+    // nothing to close by default
+  }
+
+  static RowGroupSource of(ParquetFileReader reader, MessageType projection, int prefetch) {
+    RowGroupSource next = reader::readNextFilteredRowGroup;
+    return prefetch > 0 ? new RowGroupPrefetcher(next, projection.getColumns(), prefetch) : next;
+  }
+}
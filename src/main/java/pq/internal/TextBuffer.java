@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq.internal;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.apache.parquet.io.api.Binary;
+
+// utf-8 encoded text of a row, numbers are formatted like minimal-json does
+public final class TextBuffer {
+
+  private static final byte[] NULL = "null".getBytes(US_ASCII);
+  private static final byte[] TRUE = "true".getBytes(US_ASCII);
+  private static final byte[] FALSE = "false".getBytes(US_ASCII);
+  private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(US_ASCII);
+
+  private byte[] bytes = new byte[8192];
+  private int length;
+
+  public int length() {
+    return length;
+  }
+
+  public byte[] toByteArray() {
+    return Arrays.copyOf(bytes, length);
+  }
+
+  public void writeTo(OutputStream output) throws IOException {
+    output.write(bytes, 0, length);
+  }
+
+  @Override
+  public String toString() {
+    return new String(bytes, 0, length, UTF_8);
+  }
+
+  public void reset() {
+    length = 0;
+  }
+
+  public void append(byte b) {
+    ensureCapacity(1);
+    bytes[length++] = b;
+  }
+
+  void append(byte[] b) {
+    ensureCapacity(b.length);
+    System.arraycopy(b, 0, bytes, length, b.length);
+    length += b.length;
+  }
+
+  void appendNull() {
+    append(NULL);
+  }
+
+  void appendBoolean(boolean value) {
+    append(value ? TRUE : FALSE);
+  }
+
+  void appendInt(int value) {
+    appendLong(value);
+  }
+
+  void appendLong(long value) {
+    if (value == Long.MIN_VALUE) {
+      appendAscii(Long.toString(value));
+      return;
+    }
+    ensureCapacity(20);
+    if (value < 0) {
+      bytes[length++] = '-';
+      value = -value;
+    }
+    int digits = digits(value);
+    int position = length + digits;
+    do {
+      bytes[--position] = (byte) ('0' + value % 10);
+      value /= 10;
+    } while (value > 0);
+    length += digits;
+  }
+
+  void appendFloat(float value) {
+    if (Float.isInfinite(value) || Float.isNaN(value)) {
+      throw new IllegalArgumentException("Infinite and NaN values not permitted in JSON");
+    }
+    appendNumber(Float.toString(value));
+  }
+
+  void appendDouble(double value) {
+    if (Double.isInfinite(value) || Double.isNaN(value)) {
+      throw new IllegalArgumentException("Infinite and NaN values not permitted in JSON");
+    }
+    appendNumber(Double.toString(value));
+  }
+
+  // same escaping as minimal-json, done over the utf-8 bytes. Malformed utf-8 is
+  // decoded like String does, replacing the invalid sequences with U+FFFD
+  void appendString(Binary value) {
+    var source = value.toByteBuffer();
+    int start = length;
+    int end = source.limit();
+    ensureCapacity(value.length() + 2);
+    bytes[length++] = '"';
+    for (int i = source.position(); i < end; i++) {
+      byte b = source.get(i);
+      if (b == '"' || b == '\\') {
+        ensureCapacity(2);
+        bytes[length++] = '\\';
+        bytes[length++] = b;
+      } else if (b >= 0 && b < 0x20) {
+        appendControl(b);
+      } else if (b >= 0) {
+        ensureCapacity(1);
+        bytes[length++] = b;
+      } else {
+        int count = sequenceLength(source, i, end);
+        if (count < 0) {
+          length = start;
+          appendString(Binary.fromConstantByteArray(value.toStringUsingUTF8().getBytes(UTF_8)));
+          return;
+        }
+        if (b == (byte) 0xe2 && source.get(i + 1) == (byte) 0x80
+            && (source.get(i + 2) == (byte) 0xa8 || source.get(i + 2) == (byte) 0xa9)) {
+          // line and paragraph separators
+          appendAscii(source.get(i + 2) == (byte) 0xa8 ? "\\u2028" : "\\u2029");
+        } else {
+          ensureCapacity(count);
+          for (int j = 0; j < count; j++) {
+            bytes[length++] = source.get(i + j);
+          }
+        }
+        i += count - 1;
+      }
+    }
+    append((byte) '"');
+  }
+
+  void appendByteArray(Binary value) {
+    var source = value.toByteBuffer();
+    append((byte) '[');
+    for (int i = source.position(); i < source.limit(); i++) {
+      if (i > source.position()) {
+        append((byte) ',');
+      }
+      appendInt(source.get(i));
+    }
+    append((byte) ']');
+  }
+
+  void append(TextBuffer other) {
+    ensureCapacity(other.length);
+    System.arraycopy(other.bytes, 0, bytes, length, other.length);
+    length += other.length;
+  }
+
+  // rfc 4180, the value is enclosed in quotes and quotes are doubled
+  void appendCsvQuoted(Binary value) {
+    var source = value.toByteBuffer();
+    if (source.hasArray()) {
+      appendCsvQuoted(source.array(), source.arrayOffset() + source.position(), source.remaining());
+    } else {
+      var array = value.getBytesUnsafe();
+      appendCsvQuoted(array, 0, array.length);
+    }
+  }
+
+  public void appendCsvQuoted(String value) {
+    var array = value.getBytes(UTF_8);
+    appendCsvQuoted(array, 0, array.length);
+  }
+
+  public void appendCsvField(String value, byte delimiter) {
+    var array = value.getBytes(UTF_8);
+    if (needsQuotes(array, array.length, delimiter)) {
+      appendCsvQuoted(array, 0, array.length);
+    } else {
+      append(array);
+    }
+  }
+
+  void appendCsvQuoted(byte[] source, int offset, int count) {
+    ensureCapacity(count + 2);
+    bytes[length++] = '"';
+    for (int i = offset; i < offset + count; i++) {
+      if (source[i] == '"') {
+        ensureCapacity(count + 2);
+        bytes[length++] = '"';
+      }
+      bytes[length++] = source[i];
+    }
+    append((byte) '"');
+  }
+
+  // the value is quoted only if it contains the delimiter, quotes or line breaks
+  void appendCsvField(TextBuffer value, byte delimiter) {
+    if (needsQuotes(value.bytes, value.length, delimiter)) {
+      appendCsvQuoted(value.bytes, 0, value.length);
+    } else {
+      append(value);
+    }
+  }
+
+  // numbers and booleans are appended as they are and quoted afterwards,
+  // only when they contain the delimiter, like '.' or '-'
+  void quoteFrom(int start, byte delimiter) {
+    for (int i = start; i < length; i++) {
+      if (bytes[i] == delimiter) {
+        ensureCapacity(2);
+        System.arraycopy(bytes, start, bytes, start + 1, length - start);
+        bytes[start] = '"';
+        length++;
+        bytes[length++] = '"';
+        return;
+      }
+    }
+  }
+
+  private static boolean needsQuotes(byte[] value, int length, byte delimiter) {
+    for (int i = 0; i < length; i++) {
+      byte b = value[i];
+      if (b == delimiter || b == '"' || b == '\n' || b == '\r') {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // length of the well-formed utf-8 sequence that starts at i, or -1 if it's
+  // malformed, as in table 3-7 of the unicode standard
+  private static int sequenceLength(ByteBuffer source, int i, int end) {
+    int lead = source.get(i) & 0xff;
+    int continuation;
+    int min = 0x80;
+    int max = 0xbf;
+    if (lead >= 0xc2 && lead <= 0xdf) {
+      continuation = 1;
+    } else if (lead >= 0xe0 && lead <= 0xef) {
+      continuation = 2;
+      min = lead == 0xe0 ? 0xa0 : 0x80;
+      max = lead == 0xed ? 0x9f : 0xbf;
+    } else if (lead >= 0xf0 && lead <= 0xf4) {
+      continuation = 3;
+      min = lead == 0xf0 ? 0x90 : 0x80;
+      max = lead == 0xf4 ? 0x8f : 0xbf;
+    } else {
+      return -1;
+    }
+    if (i + continuation >= end) {
+      return -1;
+    }
+    for (int j = 1; j <= continuation; j++) {
+      int next = source.get(i + j) & 0xff;
+      if (next < (j == 1 ? min : 0x80) || next > (j == 1 ? max : 0xbf)) {
+        return -1;
+      }
+    }
+    return continuation + 1;
+  }
+
+  private void appendControl(byte b) {
+    switch (b) {
+      case '\n' -> appendAscii("\\n");
+      case '\r' -> appendAscii("\\r");
+      case '\t' -> appendAscii("\\t");
+      default -> {
+        appendAscii("\\u00");
+        append(HEX_DIGITS[b >> 4 & 0xf]);
+        append(HEX_DIGITS[b & 0xf]);
+      }
+    }
+  }
+
+  private void appendNumber(String number) {
+    if (number.endsWith(".0")) {
+      appendAscii(number.substring(0, number.length() - 2));
+    } else {
+      appendAscii(number);
+    }
+  }
+
+  private void appendAscii(String value) {
+    ensureCapacity(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      bytes[length++] = (byte) value.charAt(i);
+    }
+  }
+
+  private void ensureCapacity(int extra) {
+    if (length + extra > bytes.length) {
+      bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+    }
+  }
+
+  private static int digits(long value) {
+    int digits = 1;
+    while (value >= 10) {
+      value /= 10;
+      digits++;
+    }
+    return digits;
+  }
+}
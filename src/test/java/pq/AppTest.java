@@ -5,15 +5,26 @@
 package pq;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
 import static org.assertj.core.api.Assertions.assertThat;
+
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
 
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 
 import uk.org.webcompere.systemstubs.jupiter.SystemStub;
 import uk.org.webcompere.systemstubs.jupiter.SystemStubsExtension;
@@ -27,6 +38,7 @@ class AppTest {
   private static final String SCHEMA = "schema";
   private static final String COUNT = "count";
   private static final String WRITE = "write";
+  private static final String METADATA = "metadata";
 
   private static final String EXAMPLE_PARQUET = "src/test/resources/example.parquet";
 
@@ -76,6 +88,29 @@ class AppTest {
     }
   }
 
+  @Nested
+  class cache {
+
+    @TempDir
+    Path cacheDir;
+
+    @Test
+    void footerIsCached() throws IOException {
+      int result1 = App.execute(COUNT, "--cache-dir", cacheDir.toString(), EXAMPLE_PARQUET);
+      int result2 = App.execute(COUNT, "--cache-dir", cacheDir.toString(), EXAMPLE_PARQUET);
+
+      assertThat(result1).isZero();
+      assertThat(result2).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines("""
+        1000
+        1000
+        """);
+      try (var files = Files.list(cacheDir)) {
+        assertThat(files.filter(file -> !file.getFileName().toString().startsWith("."))).hasSize(1);
+      }
+    }
+  }
+
   @Nested
   class count {
 
@@ -89,6 +124,24 @@ class AppTest {
         """);
     }
 
+    @Test
+    void countWithNegativeMergeGap() {
+      int result = App.execute(COUNT, "--merge-gap=-1", EXAMPLE_PARQUET);
+
+      assertThat(result).isNotZero();
+      assertThat(systemOut.getText()).isEmpty();
+    }
+
+    @Test
+    void countWithFilterMmap() {
+      int result = App.execute(COUNT, "--mmap", "--filter", "gender == \"Female\"", EXAMPLE_PARQUET);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines("""
+        482
+        """);
+    }
+
     @Test
     void countWithFilter() {
       int result = App.execute(COUNT, "--filter", "gender == \"Female\"", EXAMPLE_PARQUET);
@@ -98,6 +151,82 @@ class AppTest {
         482
         """);
     }
+
+    @Test
+    void countWithFilterIn() {
+      int result = App.execute(COUNT, "--filter", "id in (1, 2, 3, 2000)", EXAMPLE_PARQUET);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines("""
+        3
+        """);
+    }
+
+    @Test
+    void countWithFilterNotIn() {
+      int result = App.execute(COUNT, "--filter", "id not in (1, 2, 3)", EXAMPLE_PARQUET);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines("""
+        997
+        """);
+    }
+
+    @Test
+    void countWithFilterMatchingAll() {
+      int result = App.execute(COUNT, "--filter", "id > 0", EXAMPLE_PARQUET);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines("""
+        1000
+        """);
+    }
+
+    @Test
+    void countWithFilterMatchingNone() {
+      int result = App.execute(COUNT, "--filter", "id > 1000", EXAMPLE_PARQUET);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines("""
+        0
+        """);
+    }
+
+    @Test
+    void countWithFilterMatchingSome() {
+      int result = App.execute(COUNT, "--filter", "!(id > 100)", EXAMPLE_PARQUET);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines("""
+        100
+        """);
+    }
+
+    // nested columns are not read in batches, the rows are counted with the records
+    @Test
+    void countWithFilterInNestedColumn(@TempDir Path tempDir) throws IOException {
+      var schemaFile = tempDir.resolve("test.schema");
+      Files.writeString(schemaFile, """
+          message spark_schema {
+            optional group address {
+              optional int32 zip;
+            }
+          }
+          """, UTF_8);
+      systemIn.setInputStream(new ByteArrayInputStream(IntStream.rangeClosed(1, 100)
+          .mapToObj(zip -> "{\"address\":{\"zip\":" + zip + "}}\n")
+          .collect(joining()).getBytes(UTF_8)));
+      var file = tempDir.resolve("test.parquet").toString();
+      assertThat(App.execute(WRITE, "--schema", schemaFile.toString(), file)).isZero();
+      systemOut.clear();
+
+      int result = App.execute(COUNT, "--filter", "address.zip > 60", file);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines("""
+        40
+        """);
+    }
   }
 
   @Nested
@@ -124,6 +253,52 @@ class AppTest {
           """);
     }
 
+    @Test
+    void csvFormatFullRead() {
+      int result = App.execute(READ, "--format", "csv", "--select", "id,first_name,ip_address,salary", EXAMPLE_PARQUET);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText().lines()).hasSize(1001).startsWith(
+          "id,first_name,ip_address,salary",
+          "1,\"Amanda\",,49756.53",
+          "2,\"Albert\",\"218.111.175.34\",150280.17");
+    }
+
+    @Test
+    void csvFormatWithDelimiter() {
+      int result = App.execute(READ, "--format", "csv", "--delimiter", ";", "--select", "id,first_name", "--head", "2", EXAMPLE_PARQUET);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines("""
+          id;first_name
+          1;"Amanda"
+          2;"Albert"
+          """);
+    }
+
+    @Test
+    void csvFormatWithDotDelimiter() {
+      int result = App.execute(READ, "--format", "csv", "--delimiter", ".", "--select", "id,salary", EXAMPLE_PARQUET);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText().lines()).hasSize(1001).startsWith(
+          "id.salary",
+          "1.\"49756.53\"",
+          "2.\"150280.17\"");
+    }
+
+    @Test
+    void csvFormatWithDotDelimiterAndHead() {
+      int result = App.execute(READ, "--format", "csv", "--delimiter", ".", "--select", "id,salary", "--head", "2", EXAMPLE_PARQUET);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines("""
+          id.salary
+          1."49756.53"
+          2."150280.17"
+          """);
+    }
+
     @Test
     void getWithIndex() {
       int result = App.execute(READ, "--index", "--get", "1", EXAMPLE_PARQUET);
@@ -198,6 +373,62 @@ class AppTest {
           """);
     }
 
+    @Test
+    void getMmap() {
+      int result = App.execute(READ, "--mmap", "--get", "1", EXAMPLE_PARQUET);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines("""
+          {"id":2,"first_name":"Albert","last_name":"Freeman","email":"afreeman1@is.gd","gender":"Male","ip_address":"218.111.175.34","cc":"","country":"Canada","birthdate":"1/16/1968","salary":150280.17,"title":"Accountant IV","comments":""}
+          """);
+    }
+
+    @Test
+    void filterWithPrefetch() {
+      int result = App.execute(READ, "--prefetch", "2", "--filter", "last_name == \"Meyer\"", "--select", "id", EXAMPLE_PARQUET);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines("""
+          {"id":201}
+          {"id":838}
+          {"id":1000}
+          """);
+    }
+
+    @Test
+    void filterWithThreads() {
+      int result = App.execute(READ, "--threads", "2", "--filter", "last_name == \"Meyer\"", "--select", "id", EXAMPLE_PARQUET);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines("""
+          {"id":201}
+          {"id":838}
+          {"id":1000}
+          """);
+    }
+
+    @Test
+    void filterWithThreadsUnordered() {
+      int result = App.execute(READ, "--threads", "2", "--unordered", "--index", "--filter", "last_name == \"Meyer\"", "--select", "id", EXAMPLE_PARQUET);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText().lines()).containsExactlyInAnyOrder(
+          "#200", "{\"id\":201}", "#837", "{\"id\":838}", "#999", "{\"id\":1000}");
+    }
+
+    @Test
+    void outputFile(@TempDir Path tempDir) throws IOException {
+      var output = tempDir.resolve("output.json");
+
+      int result = App.execute(READ, "--output", output.toString(), "--head", "1", "--select", "id,first_name", EXAMPLE_PARQUET);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText()).isEmpty();
+      assertThat(Files.readString(output)).isEqualToNormalizingNewlines("""
+          {"id":1,"first_name":"Amanda"}
+          """);
+    }
+
     @Test
     void tail() {
       int result = App.execute(READ, "--tail", "1", EXAMPLE_PARQUET);
@@ -219,6 +450,68 @@ class AppTest {
           """);
     }
 
+    @Test
+    void getLastWithIndex() {
+      int result = App.execute(READ, "--index", "--select", "id", "--get", "999", EXAMPLE_PARQUET);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines("""
+          #999
+          {"id":1000}
+          """);
+    }
+
+    @Test
+    void getOutOfRange() {
+      int result = App.execute(READ, "--select", "id", "--get", "1000", EXAMPLE_PARQUET);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText()).isEmpty();
+    }
+
+    @Test
+    void getWithFilter() {
+      int result = App.execute(READ, "--filter", "id > 500", "--select", "id", "--skip", "1", "--get", "2", EXAMPLE_PARQUET);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines("""
+          {"id":504}
+          """);
+    }
+
+    @Test
+    void tailWithFilter() {
+      int result = App.execute(READ, "--filter", "id < 100", "--select", "id", "--tail", "2", EXAMPLE_PARQUET);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines("""
+          {"id":98}
+          {"id":99}
+          """);
+    }
+
+    @Test
+    void tailWithSkip() {
+      int result = App.execute(READ, "--skip", "998", "--select", "id", "--tail", "5", EXAMPLE_PARQUET);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines("""
+          {"id":999}
+          {"id":1000}
+          """);
+    }
+
+    @Test
+    void tailWithFilterAndSkip() {
+      int result = App.execute(READ, "--filter", "id < 100", "--skip", "97", "--select", "id", "--tail", "5", EXAMPLE_PARQUET);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines("""
+          {"id":98}
+          {"id":99}
+          """);
+    }
+
     @Test
     void filterInt() {
       int result = App.execute(READ, "--filter", "id == 1000", EXAMPLE_PARQUET);
@@ -298,6 +591,206 @@ class AppTest {
           """);
     }
 
+    @Test
+    void writeFileWithOptions() throws IOException {
+      var schemaFile = File.createTempFile("test", ".schema");
+      Files.writeString(schemaFile.toPath(), """
+          message spark_schema {
+            optional int32 id;
+            optional binary email (STRING);
+            optional double salary;
+          }
+          """, UTF_8);
+      systemIn.setInputStream(new ByteArrayInputStream("""
+          {"id":1,"email":"ajordan0@com.com","salary":1.5}
+          {"id":2,"email":"afreeman1@is.gd","salary":2.5}
+          {"id":3,"email":"emorgan2@altervista.org","salary":null}
+          """.getBytes()));
+
+      var tempFile = File.createTempFile("test", ".parquet");
+      int result1 = App.execute(WRITE, "--schema", schemaFile.getAbsolutePath(),
+          "--codec", "ZSTD", "--zstd-level", "9", "--writer-version", "PARQUET_2_0", "--byte-stream-split",
+          "--page-row-limit", "2", "--column-dictionary", "email=false", tempFile.getAbsolutePath());
+      int result2 = App.execute(READ, tempFile.getAbsolutePath());
+
+      assertThat(result1).isZero();
+      assertThat(result2).isZero();
+      var footer = App.footer(tempFile);
+      var columns = footer.getBlocks().getFirst().getColumns();
+      assertThat(columns).allSatisfy(column -> assertThat(column.getCodec()).isEqualTo(CompressionCodecName.ZSTD));
+      // without dictionary, strings are written with delta encoding only in data pages v2
+      assertThat(columns.get(1).hasDictionaryPage()).isFalse();
+      assertThat(columns.get(1).getEncodings()).contains(Encoding.DELTA_BYTE_ARRAY);
+      try (var reader = App.createFileReader(App.inputFile(tempFile), footer, FilterCompat.NOOP)) {
+        for (var column : columns) {
+          assertThat(reader.readOffsetIndex(column).getPageCount()).isEqualTo(2);
+        }
+      }
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines("""
+          {"id":1,"email":"ajordan0@com.com","salary":1.5}
+          {"id":2,"email":"afreeman1@is.gd","salary":2.5}
+          {"id":3,"email":"emorgan2@altervista.org","salary":null}
+          """);
+    }
+
+    @Test
+    void writeFileWithUnsupportedCodec() throws IOException {
+      var schemaFile = File.createTempFile("test", ".schema");
+      Files.writeString(schemaFile.toPath(), "message spark_schema { optional int32 id; }", UTF_8);
+      systemIn.setInputStream(new ByteArrayInputStream("{\"id\":1}\n".getBytes()));
+
+      var tempFile = File.createTempFile("test", ".parquet");
+      int result = App.execute(WRITE, "--schema", schemaFile.getAbsolutePath(), "--codec", "LZO", tempFile.getAbsolutePath());
+
+      assertThat(result).isNotZero();
+    }
+
+    @Test
+    void writeFileWithZstdLevelWithoutZstdCodec() throws IOException {
+      var schemaFile = File.createTempFile("test", ".schema");
+      Files.writeString(schemaFile.toPath(), "message spark_schema { optional int32 id; }", UTF_8);
+      systemIn.setInputStream(new ByteArrayInputStream("{\"id\":1}\n".getBytes()));
+
+      var tempFile = File.createTempFile("test", ".parquet");
+      int result = App.execute(WRITE, "--schema", schemaFile.getAbsolutePath(), "--zstd-level", "19", tempFile.getAbsolutePath());
+
+      assertThat(result).isNotZero();
+    }
+
+    @Test
+    void writeFileWithBloomFilters() throws IOException {
+      var schemaFile = File.createTempFile("test", ".schema");
+      Files.writeString(schemaFile.toPath(), """
+          message spark_schema {
+            optional int32 id;
+            optional binary email (STRING);
+            optional double salary;
+          }
+          """, UTF_8);
+      systemIn.setInputStream(new ByteArrayInputStream("""
+          {"id":1,"email":"ajordan0@com.com","salary":1.5}
+          {"id":2,"email":"afreeman1@is.gd","salary":2.5}
+          {"id":3,"email":"emorgan2@altervista.org","salary":null}
+          """.getBytes()));
+
+      var tempFile = File.createTempFile("test", ".parquet");
+      int result1 = App.execute(WRITE, "--schema", schemaFile.getAbsolutePath(),
+          "--bloom-filter-column", "email", "--bloom-filter-ndv", "id=10", "--bloom-filter-fpp", "id=0.05",
+          tempFile.getAbsolutePath());
+      int result2 = App.execute(READ, "--filter", "email == \"afreeman1@is.gd\"", tempFile.getAbsolutePath());
+
+      assertThat(result1).isZero();
+      assertThat(result2).isZero();
+      var columns = App.footer(tempFile).getBlocks().getFirst().getColumns();
+      assertThat(columns).filteredOn(column -> column.getBloomFilterOffset() >= 0)
+          .extracting(column -> column.getPath().toDotString())
+          .containsExactly("id", "email");
+      assertThat(columns).allSatisfy(column -> {
+        assertThat(column.getColumnIndexReference()).isNotNull();
+        assertThat(column.getOffsetIndexReference()).isNotNull();
+      });
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines("""
+          {"id":2,"email":"afreeman1@is.gd","salary":2.5}
+          """);
+    }
+
+    @Test
+    void writeFileAndFilterStringRange() throws IOException {
+      var schemaFile = File.createTempFile("test", ".schema");
+      Files.writeString(schemaFile.toPath(), """
+          message spark_schema {
+            optional int32 id;
+            optional binary date (STRING);
+          }
+          """, UTF_8);
+      systemIn.setInputStream(new ByteArrayInputStream("""
+          {"id":1,"date":"2023-12-31"}
+          {"id":2,"date":"2024-01-01"}
+          {"id":3,"date":"2024-01-15"}
+          {"id":4,"date":"2024-02-01"}
+          {"id":5,"date":null}
+          """.getBytes()));
+
+      var tempFile = File.createTempFile("test", ".parquet");
+      int result1 = App.execute(WRITE, "--schema", schemaFile.getAbsolutePath(), tempFile.getAbsolutePath());
+      int result2 = App.execute(READ, "--filter", "date >= \"2024-01-01\" && date < \"2024-02-01\"", tempFile.getAbsolutePath());
+
+      assertThat(result1).isZero();
+      assertThat(result2).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines("""
+          {"id":2,"date":"2024-01-01"}
+          {"id":3,"date":"2024-01-15"}
+          """);
+    }
+
+    @Test
+    void writeFileAndFilterPattern() throws IOException {
+      var schemaFile = File.createTempFile("test", ".schema");
+      Files.writeString(schemaFile.toPath(), """
+          message spark_schema {
+            optional int32 id;
+            optional binary url (STRING);
+          }
+          """, UTF_8);
+      systemIn.setInputStream(new ByteArrayInputStream("""
+          {"id":1,"url":"https://shop/item/1"}
+          {"id":2,"url":"https://blog/post/1"}
+          {"id":3,"url":"https://shop/cart"}
+          {"id":4,"url":null}
+          """.getBytes()));
+
+      var tempFile = File.createTempFile("test", ".parquet");
+      int result1 = App.execute(WRITE, "--schema", schemaFile.getAbsolutePath(), tempFile.getAbsolutePath());
+      int result2 = App.execute(READ, "--filter", "url starts \"https://shop/\"", tempFile.getAbsolutePath());
+      int result3 = App.execute(COUNT, "--filter", "url like \"%/item/_\" || !(url starts \"https://\")", tempFile.getAbsolutePath());
+
+      assertThat(result1).isZero();
+      assertThat(result2).isZero();
+      assertThat(result3).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines("""
+          {"id":1,"url":"https://shop/item/1"}
+          {"id":3,"url":"https://shop/cart"}
+          2
+          """);
+    }
+
+    @Test
+    void writeFileAndFilterRegex() throws IOException {
+      var schemaFile = File.createTempFile("test", ".schema");
+      Files.writeString(schemaFile.toPath(), """
+          message spark_schema {
+            optional int32 id;
+            optional binary level (STRING);
+          }
+          """, UTF_8);
+      systemIn.setInputStream(new ByteArrayInputStream("""
+          {"id":1,"level":"INFO"}
+          {"id":2,"level":"ERROR"}
+          {"id":3,"level":"INFO"}
+          {"id":4,"level":"WARN"}
+          {"id":5,"level":"ERROR"}
+          {"id":6,"level":null}
+          """.getBytes()));
+
+      var tempFile = File.createTempFile("test", ".parquet");
+      int result1 = App.execute(WRITE, "--schema", schemaFile.getAbsolutePath(), tempFile.getAbsolutePath());
+      int result2 = App.execute(READ, "--filter", "level =~ \"^(WARN|ERROR)$\"", tempFile.getAbsolutePath());
+      int result3 = App.execute(COUNT, "--filter", "level =~ \"DEBUG\"", tempFile.getAbsolutePath());
+      int result4 = App.execute(COUNT, "--filter", "!(level =~ \"R\")", tempFile.getAbsolutePath());
+
+      assertThat(result1).isZero();
+      assertThat(result2).isZero();
+      assertThat(result3).isZero();
+      assertThat(result4).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines("""
+          {"id":2,"level":"ERROR"}
+          {"id":4,"level":"WARN"}
+          {"id":5,"level":"ERROR"}
+          0
+          3
+          """);
+    }
+
     @Test
     void writeFileJson() throws IOException {
       var schemaFile = File.createTempFile("test", ".schema");
@@ -326,4 +819,220 @@ class AppTest {
           """);
     }
   }
+
+  // the same rows in many row groups and pages, to test the paths that skip them
+  @Nested
+  class rowGroups {
+
+    static final int ROWS = 1000;
+
+    @TempDir
+    Path tempDir;
+
+    String file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+      var schemaFile = tempDir.resolve("test.schema");
+      Files.writeString(schemaFile, """
+          message spark_schema {
+            optional int32 id;
+            optional binary name (STRING);
+          }
+          """, UTF_8);
+      systemIn.setInputStream(new ByteArrayInputStream(IntStream.rangeClosed(1, ROWS)
+          .mapToObj(id -> "{\"id\":" + id + ",\"name\":\"name" + id % 10 + "\"}\n")
+          .collect(joining()).getBytes(UTF_8)));
+      file = tempDir.resolve("test.parquet").toString();
+
+      int result = App.execute(WRITE, "--schema", schemaFile.toString(), "--row-group-size", "1", "--page-row-limit", "10",
+          "--bloom-filter-column", "name", file);
+
+      assertThat(result).isZero();
+      assertThat(App.footer(new File(file)).getBlocks()).hasSizeGreaterThan(2);
+    }
+
+    @Test
+    void getFromLaterPage() {
+      int result = App.execute(READ, "--index", "--get", "555", "--select", "id", file);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines("""
+          #555
+          {"id":556}
+          """);
+    }
+
+    @Test
+    void skipInsideLaterPage() {
+      int result = App.execute(READ, "--index", "--skip", "957", "--head", "3", "--select", "id", file);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines("""
+          #957
+          {"id":958}
+          #958
+          {"id":959}
+          #959
+          {"id":960}
+          """);
+    }
+
+    @Test
+    void skipToLastRowGroupCsv() {
+      int result = App.execute(READ, "--format", "csv", "--skip", "998", "--head", "5", file);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines("""
+          id,name
+          999,"name9"
+          1000,"name0"
+          """);
+    }
+
+    // pages are counted without reading them when all or none of their rows match
+    @Test
+    void countPages() {
+      assertCount("id > 505", 495);
+      assertCount("id <= 37", 37);
+      assertCount("id >= 95 && id < 215", 120);
+      assertCount("!(id > 100)", 100);
+      assertCount("id == 2000", 0);
+    }
+
+    @Test
+    void countRowsInPages() {
+      assertCount("name == \"name3\"", 100);
+      assertCount("name == \"name3\" || id > 990", 109);
+    }
+
+    // the filters only skip row groups and pages, the result is the same without them
+    @Test
+    void countWithoutFilters() {
+      for (var option : List.of("--no-bloom-filter", "--no-dictionary-filter", "--no-column-index-filter")) {
+        assertCount(option, "name == \"name3\"", 100);
+        assertCount(option, "name == \"other\"", 0);
+        assertCount(option, "id > 505", 495);
+      }
+    }
+
+    @Test
+    void readWithoutColumnIndexFilter() {
+      int result = App.execute(READ, "--no-column-index-filter", "--filter", "id > 997", "--select", "id", file);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines("""
+          {"id":998}
+          {"id":999}
+          {"id":1000}
+          """);
+    }
+
+    @Test
+    void showBloomFilters() {
+      int result = App.execute(METADATA, "--show-blocks", file);
+
+      assertThat(result).isZero();
+      var columns = systemOut.getText().lines().filter(line -> line.startsWith("\"column\":")).toList();
+      assertThat(columns).isNotEmpty()
+        .filteredOn(line -> line.startsWith("\"column\":[name]"))
+        .hasSize(columns.size() / 2)
+        .allMatch(line -> line.matches(".*\"bloomFilter\":true,\"bloomFilterSize\":[1-9][0-9]*,.*"));
+      assertThat(columns)
+        .filteredOn(line -> line.startsWith("\"column\":[id]"))
+        .hasSize(columns.size() / 2)
+        .allMatch(line -> line.contains("\"bloomFilter\":false,\"bloomFilterSize\":0,"));
+    }
+
+    @Test
+    void filterWithThreads() {
+      int result = App.execute(READ, "--threads", "3", "--index", "--filter", "name == \"name3\"", "--select", "id", file);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines(IntStream.rangeClosed(1, ROWS)
+          .filter(id -> id % 10 == 3)
+          .mapToObj(id -> "#" + (id - 1) + "\n{\"id\":" + id + "}\n")
+          .collect(joining()));
+    }
+
+    @Test
+    void regexWithThreads() {
+      int result = App.execute(READ, "--threads", "3", "--filter", "name =~ \"^name[37]$\"", "--select", "id", file);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines(IntStream.rangeClosed(1, ROWS)
+          .filter(id -> id % 10 == 3 || id % 10 == 7)
+          .mapToObj(id -> "{\"id\":" + id + "}\n")
+          .collect(joining()));
+    }
+
+    @Test
+    void filterWithThreadsUnordered() {
+      int result = App.execute(READ, "--threads", "3", "--unordered", "--index", "--filter", "name == \"name3\"", "--select", "id", file);
+
+      assertThat(result).isZero();
+      var lines = systemOut.getText().lines().toList();
+      assertThat(lines).hasSize(200);
+      var rows = new ArrayList<String>();
+      for (int i = 0; i < lines.size(); i += 2) {
+        // each index is followed by its row
+        int index = Integer.parseInt(lines.get(i).substring(1));
+        assertThat(lines.get(i + 1)).isEqualTo("{\"id\":" + (index + 1) + "}");
+        rows.add(lines.get(i + 1));
+      }
+      assertThat(rows).containsExactlyInAnyOrderElementsOf(IntStream.rangeClosed(1, ROWS)
+          .filter(id -> id % 10 == 3)
+          .mapToObj(id -> "{\"id\":" + id + "}")
+          .toList());
+    }
+
+    // every row group is larger than the chunks that a worker can hand over at once,
+    // so the workers have to wait for the reader
+    @Test
+    void readLargeRowGroupsWithThreads() throws IOException {
+      var schemaFile = tempDir.resolve("large.schema");
+      Files.writeString(schemaFile, """
+          message spark_schema {
+            optional int32 id;
+            optional binary name (STRING);
+          }
+          """, UTF_8);
+      int rows = 20_000;
+      systemIn.setInputStream(new ByteArrayInputStream(IntStream.rangeClosed(1, rows)
+          .mapToObj(id -> "{\"id\":" + id + ",\"name\":\"name" + id + "\"}\n")
+          .collect(joining()).getBytes(UTF_8)));
+      var large = tempDir.resolve("large.parquet").toString();
+
+      int result1 = App.execute(WRITE, "--schema", schemaFile.toString(), "--row-group-size", "131072", large);
+      systemOut.clear();
+      int result2 = App.execute(READ, "--threads", "3", "--select", "id", large);
+      var ordered = systemOut.getText();
+      systemOut.clear();
+      int result3 = App.execute(READ, "--threads", "3", "--unordered", "--select", "id", large);
+
+      assertThat(result1).isZero();
+      assertThat(result2).isZero();
+      assertThat(result3).isZero();
+      var blocks = App.footer(new File(large)).getBlocks();
+      assertThat(blocks).hasSizeGreaterThan(1);
+      assertThat(blocks.subList(0, blocks.size() - 1))
+          .allMatch(block -> block.getRowCount() > ParallelReader.CHUNK_SIZE * ParallelReader.CHUNKS);
+      var expected = IntStream.rangeClosed(1, rows).mapToObj(id -> "{\"id\":" + id + "}").toList();
+      assertThat(ordered.lines()).containsExactlyElementsOf(expected);
+      assertThat(systemOut.getText().lines()).containsExactlyInAnyOrderElementsOf(expected);
+    }
+
+    private void assertCount(String filter, long expected) {
+      assertCount("--bloom-filter", filter, expected);
+    }
+
+    private void assertCount(String option, String filter, long expected) {
+      systemOut.clear();
+
+      int result = App.execute(COUNT, option, "--filter", filter, file);
+
+      assertThat(result).isZero();
+      assertThat(systemOut.getText()).isEqualToNormalizingNewlines(expected + "\n");
+    }
+  }
 }
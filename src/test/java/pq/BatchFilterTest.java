@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq;
+
+import static org.apache.parquet.schema.LogicalTypeAnnotation.stringType;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BINARY;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BOOLEAN;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.DOUBLE;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.FLOAT;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT32;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT64;
+import static org.apache.parquet.schema.Types.optional;
+import static org.apache.parquet.schema.Types.required;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.eclipsesource.json.Json;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.apache.parquet.schema.MessageType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import pq.FilterParser.TypedExpr;
+import pq.internal.ColumnarBatchReader;
+
+// the batch filter must count the same rows that the record filter returns
+class BatchFilterTest {
+
+  static final int ROWS = 20;
+
+  final MessageType schema = new MessageType("schema",
+      optional(INT32).named("id"),
+      required(INT64).named("total"),
+      optional(FLOAT).named("ratio"),
+      optional(DOUBLE).named("score"),
+      optional(BOOLEAN).named("active"),
+      optional(BINARY).as(stringType()).named("name"));
+
+  @TempDir
+  Path tempDir;
+
+  File file;
+
+  // every column has nulls in different rows
+  @BeforeEach
+  void setUp() throws IOException {
+    file = tempDir.resolve("test.parquet").toFile();
+    try (var writer = App.createJsonWriter(file, schema, builder -> builder)) {
+      for (int i = 0; i < ROWS; i++) {
+        writer.write(Json.object()
+            .add("id", i % 5 == 0 ? Json.NULL : Json.value(i))
+            .add("total", i * 10L)
+            .add("ratio", i % 8 == 0 ? Json.NULL : Json.value(i / 4f))
+            .add("score", i % 6 == 0 ? Json.NULL : Json.value(i * 1.5))
+            .add("active", i % 7 == 0 ? Json.NULL : Json.value(i % 2 == 0))
+            .add("name", i % 4 == 0 ? Json.NULL : Json.value("name" + i % 3)));
+      }
+    }
+  }
+
+  @Test
+  void nulls() throws IOException {
+    assertCount("id == null", 4);
+    assertCount("id != null", 16);
+    assertCount("id == 3", 1);
+    assertCount("id != 3", 19);
+    assertCount("name != \"name1\"", 15);
+    assertCount("active != false", 11);
+  }
+
+  @Test
+  void not() throws IOException {
+    assertCount("!(id > 10)", 8);
+    assertCount("!(id == null)", 16);
+    assertCount("!(id != 3)", 1);
+    assertCount("!(name < \"name2\")", 5);
+    assertCount("!(score == null || active == true)", 11);
+  }
+
+  @Test
+  void logic() throws IOException {
+    assertCount("total >= 100 && total < 150", 5);
+    assertCount("score == null || active == true", 9);
+    assertCount("id > 10 && name == \"name1\"", 2);
+  }
+
+  @Test
+  void types() throws IOException {
+    assertCount("id > 10", 8);
+    assertCount("ratio < 2.0", 7);
+    assertCount("score > 10.0", 11);
+    assertCount("active == false", 9);
+    assertCount("name == \"name1\"", 5);
+  }
+
+  @Test
+  void stringOrdering() throws IOException {
+    assertCount("name > \"name0\"", 10);
+    assertCount("name <= \"name1\"", 10);
+    assertCount("name >= \"name\"", 15);
+    assertCount("name < \"name10\"", 10);
+  }
+
+  private void assertCount(String filter, long expected) throws IOException {
+    assertThat(batchCount(filter)).as(filter).isEqualTo(recordCount(filter)).isEqualTo(expected);
+  }
+
+  private long batchCount(String filter) throws IOException {
+    TypedExpr<?> predicate = new FilterParser().parse(filter).apply(schema);
+    var batchFilter = new BatchFilter(predicate, schema, ColumnarBatchReader.DEFAULT_BATCH_SIZE);
+    long count = 0;
+    try (var session = ReadSession.open(file, null);
+        var reader = session.batchReader(schema, 0)) {
+      for (var batch = reader.read(); batch != null; batch = reader.read()) {
+        count += batchFilter.count(batch);
+      }
+    }
+    return count;
+  }
+
+  private long recordCount(String filter) throws IOException {
+    long count = 0;
+    try (var session = ReadSession.open(file, filter);
+        var reader = session.reader(schema, 0)) {
+      while (reader.read() != null) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
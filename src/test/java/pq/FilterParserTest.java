@@ -12,13 +12,16 @@ import static org.apache.parquet.filter2.predicate.FilterApi.eq;
 import static org.apache.parquet.filter2.predicate.FilterApi.floatColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.gt;
 import static org.apache.parquet.filter2.predicate.FilterApi.gtEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.in;
 import static org.apache.parquet.filter2.predicate.FilterApi.intColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.longColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.lt;
 import static org.apache.parquet.filter2.predicate.FilterApi.ltEq;
 import static org.apache.parquet.filter2.predicate.FilterApi.not;
 import static org.apache.parquet.filter2.predicate.FilterApi.notEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.notIn;
 import static org.apache.parquet.filter2.predicate.FilterApi.or;
+import static org.apache.parquet.filter2.predicate.FilterApi.userDefined;
 import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BINARY;
 import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BOOLEAN;
 import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.DOUBLE;
@@ -30,14 +33,18 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.util.List;
+import java.util.Set;
 
 import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators.UserDefined;
 import org.apache.parquet.io.api.Binary;
 import org.apache.parquet.schema.GroupType;
 import org.apache.parquet.schema.MessageType;
 import org.apache.parquet.schema.PrimitiveType;
 import org.junit.jupiter.api.Test;
 
+import pq.FilterParser.TypedExpr.TypedPatternCondition;
+
 class FilterParserTest {
 
   static final String ID = "id";
@@ -119,10 +126,11 @@ class FilterParserTest {
     assertThat(parser.parse("id == \"\"").apply(schema).convert()).isEqualTo(eq(binaryColumn(ID), Binary.fromString("")));
     assertThat(parser.parse("id == null").apply(schema).convert()).isEqualTo(eq(binaryColumn(ID), null));
     assertThat(parser.parse("id != \"a\"").apply(schema).convert()).isEqualTo(notEq(binaryColumn(ID), Binary.fromString("a")));
-    assertThatThrownBy(() -> parser.parse("id > \"a\"").apply(schema).convert()).isInstanceOf(IllegalArgumentException.class);
-    assertThatThrownBy(() -> parser.parse("id < \"a\"").apply(schema).convert()).isInstanceOf(IllegalArgumentException.class);
-    assertThatThrownBy(() -> parser.parse("id >= \"a\"").apply(schema).convert()).isInstanceOf(IllegalArgumentException.class);
-    assertThatThrownBy(() -> parser.parse("id <= \"a\"").apply(schema).convert()).isInstanceOf(IllegalArgumentException.class);
+    assertThat(parser.parse("id > \"a\"").apply(schema).convert()).isEqualTo(gt(binaryColumn(ID), Binary.fromString("a")));
+    assertThat(parser.parse("id < \"a\"").apply(schema).convert()).isEqualTo(lt(binaryColumn(ID), Binary.fromString("a")));
+    assertThat(parser.parse("id >= \"a\"").apply(schema).convert()).isEqualTo(gtEq(binaryColumn(ID), Binary.fromString("a")));
+    assertThat(parser.parse("id <= \"a\"").apply(schema).convert()).isEqualTo(ltEq(binaryColumn(ID), Binary.fromString("a")));
+    assertThatThrownBy(() -> parser.parse("id > 1").apply(schema).convert()).isInstanceOf(IllegalArgumentException.class);
   }
 
   @Test
@@ -164,6 +172,46 @@ class FilterParserTest {
       .isEqualTo(and(gt(intColumn(ID), 2), or(lt(intColumn(ID), 10), eq(intColumn(ID), 0))));
   }
 
+  @Test
+  void inExpression() {
+    var schema = new MessageType("schema", List.of(
+        new PrimitiveType(REQUIRED, INT32, ID), new PrimitiveType(REQUIRED, BINARY, "name")));
+    assertThat(parser.parse("id in (1, 2, 3)").apply(schema).convert()).isEqualTo(in(intColumn(ID), Set.of(1, 2, 3)));
+    assertThat(parser.parse("id in(1,1)").apply(schema).convert()).isEqualTo(in(intColumn(ID), Set.of(1)));
+    assertThat(parser.parse("id not in (1, 2)").apply(schema).convert()).isEqualTo(notIn(intColumn(ID), Set.of(1, 2)));
+    assertThat(parser.parse("name in (\"a\", \"b\")").apply(schema).convert())
+      .isEqualTo(in(binaryColumn("name"), Set.of(Binary.fromString("a"), Binary.fromString("b"))));
+    assertThat(parser.parse("id in (1, 2) && id != 3").apply(schema).convert())
+      .isEqualTo(and(in(intColumn(ID), Set.of(1, 2)), notEq(intColumn(ID), 3)));
+    assertThat(parser.parse("!(id in (1))").apply(schema).convert()).isEqualTo(not(in(intColumn(ID), Set.of(1))));
+    assertThatThrownBy(() -> parser.parse("id in (1, \"a\")").apply(schema).convert()).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void patternExpression() {
+    var schema = new MessageType("schema", List.of(
+        new PrimitiveType(REQUIRED, INT32, ID), new PrimitiveType(REQUIRED, BINARY, "url")));
+    assertThat(parser.parse("url starts \"https://shop/\"").apply(schema).convert())
+      .isEqualTo(userDefined(binaryColumn("url"), PatternPredicate.startsWith("https://shop/")));
+    assertThat(parser.parse("url like \"https://%/item\"").apply(schema).convert())
+      .isEqualTo(userDefined(binaryColumn("url"), PatternPredicate.like("https://%/item")));
+    assertThat(parser.parse("!(url like \"http_%\") && id > 1").apply(schema).convert())
+      .isEqualTo(and(not(userDefined(binaryColumn("url"), PatternPredicate.like("http_%"))), gt(intColumn(ID), 1)));
+    assertThat(parser.parse("url =~ \"^https://[a-z]+\\\\.com\"").apply(schema).convert())
+      .isEqualTo(userDefined(binaryColumn("url"), PatternPredicate.regex("^https://[a-z]+\\.com")));
+    assertThatThrownBy(() -> parser.parse("id starts \"1\"").apply(schema).convert()).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void patternCompiledOnce() {
+    var schema = new MessageType("schema", List.of(new PrimitiveType(REQUIRED, BINARY, "url")));
+
+    var typed = (TypedPatternCondition) parser.parse("url =~ \"item/[0-9]+\"").apply(schema);
+    var predicate = (UserDefined<?, ?>) typed.convert();
+
+    assertThat(predicate.getUserDefinedPredicate()).isSameAs(typed.predicate());
+  }
+
   @Test
   void notExpression() {
     var schema = new MessageType("schema", List.of(new PrimitiveType(REQUIRED, INT32, ID)));
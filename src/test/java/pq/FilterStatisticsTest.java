@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq;
+
+import static org.apache.parquet.schema.LogicalTypeAnnotation.stringType;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BINARY;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT32;
+import static org.apache.parquet.schema.Types.optional;
+import static org.assertj.core.api.Assertions.assertThat;
+import static pq.FilterStatistics.Match.ALL;
+import static pq.FilterStatistics.Match.NONE;
+import static pq.FilterStatistics.Match.SOME;
+
+import java.util.Map;
+
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.junit.jupiter.api.Test;
+
+class FilterStatisticsTest {
+
+  static final String ID = "id";
+  static final String NAME = "name";
+
+  final MessageType schema = new MessageType("schema",
+      optional(INT32).named(ID), optional(BINARY).as(stringType()).named(NAME));
+
+  final FilterParser parser = new FilterParser();
+
+  @Test
+  void classifyInt() {
+    var statistics = Map.<String, Statistics<?>>of(ID, ints(0, 20, 30));
+
+    assertThat(classify("id > 10", statistics, 3)).isEqualTo(ALL);
+    assertThat(classify("id >= 20", statistics, 3)).isEqualTo(ALL);
+    assertThat(classify("id > 30", statistics, 3)).isEqualTo(NONE);
+    assertThat(classify("id < 20", statistics, 3)).isEqualTo(NONE);
+    assertThat(classify("id < 25", statistics, 3)).isEqualTo(SOME);
+    assertThat(classify("id == 40", statistics, 3)).isEqualTo(NONE);
+    assertThat(classify("id != 40", statistics, 3)).isEqualTo(ALL);
+    assertThat(classify("id == null", statistics, 3)).isEqualTo(NONE);
+    assertThat(classify("id != null", statistics, 3)).isEqualTo(ALL);
+  }
+
+  @Test
+  void classifyWithNulls() {
+    var statistics = Map.<String, Statistics<?>>of(ID, ints(1, 20, 30));
+
+    assertThat(classify("id > 10", statistics, 3)).isEqualTo(SOME);
+    assertThat(classify("id > 30", statistics, 3)).isEqualTo(NONE);
+    assertThat(classify("id != 40", statistics, 3)).isEqualTo(ALL);
+    assertThat(classify("id == null", statistics, 3)).isEqualTo(SOME);
+  }
+
+  @Test
+  void classifyOnlyNulls() {
+    var statistics = Map.<String, Statistics<?>>of(ID, ints(2));
+
+    assertThat(classify("id > 10", statistics, 2)).isEqualTo(NONE);
+    assertThat(classify("id != 10", statistics, 2)).isEqualTo(ALL);
+    assertThat(classify("id == null", statistics, 2)).isEqualTo(ALL);
+  }
+
+  @Test
+  void classifySameValue() {
+    var statistics = Map.<String, Statistics<?>>of(ID, ints(0, 20, 20));
+
+    assertThat(classify("id == 20", statistics, 2)).isEqualTo(ALL);
+    assertThat(classify("id != 20", statistics, 2)).isEqualTo(NONE);
+  }
+
+  @Test
+  void classifyString() {
+    var statistics = Map.<String, Statistics<?>>of(NAME, strings("b", "d"));
+
+    assertThat(classify("name == \"a\"", statistics, 2)).isEqualTo(NONE);
+    assertThat(classify("name == \"c\"", statistics, 2)).isEqualTo(SOME);
+    assertThat(classify("name != \"e\"", statistics, 2)).isEqualTo(ALL);
+    assertThat(classify("name >= \"b\"", statistics, 2)).isEqualTo(ALL);
+    assertThat(classify("name > \"d\"", statistics, 2)).isEqualTo(NONE);
+    assertThat(classify("name < \"c\"", statistics, 2)).isEqualTo(SOME);
+    assertThat(classify("name < \"ba\"", statistics, 2)).isEqualTo(SOME);
+    assertThat(classify("name < \"b\"", statistics, 2)).isEqualTo(NONE);
+  }
+
+  @Test
+  void classifyIn() {
+    var statistics = Map.<String, Statistics<?>>of(ID, ints(0, 20, 30), NAME, strings("b", "d"));
+
+    assertThat(classify("id in (1, 2, 40)", statistics, 2)).isEqualTo(NONE);
+    assertThat(classify("id in (1, 25)", statistics, 2)).isEqualTo(SOME);
+    assertThat(classify("id not in (1, 2, 40)", statistics, 2)).isEqualTo(ALL);
+    assertThat(classify("!(id in (1, 2))", statistics, 2)).isEqualTo(ALL);
+    assertThat(classify("name in (\"a\", \"e\")", statistics, 2)).isEqualTo(NONE);
+    assertThat(classify("name in (\"a\", \"c\")", statistics, 2)).isEqualTo(SOME);
+  }
+
+  @Test
+  void classifyInSameValue() {
+    var statistics = Map.<String, Statistics<?>>of(ID, ints(0, 20, 20));
+
+    assertThat(classify("id in (10, 20)", statistics, 2)).isEqualTo(ALL);
+    assertThat(classify("id not in (10, 20)", statistics, 2)).isEqualTo(NONE);
+  }
+
+  @Test
+  void classifyInWithNulls() {
+    assertThat(classify("id in (10, 20)", Map.of(ID, ints(1, 20, 20)), 3)).isEqualTo(SOME);
+    assertThat(classify("id in (10, 20)", Map.of(ID, ints(2)), 2)).isEqualTo(NONE);
+    assertThat(classify("id not in (10, 20)", Map.of(ID, ints(2)), 2)).isEqualTo(ALL);
+  }
+
+  @Test
+  void classifyPattern() {
+    var statistics = Map.<String, Statistics<?>>of(NAME, strings("ba", "bz"));
+
+    assertThat(classify("name starts \"b\"", statistics, 2)).isEqualTo(ALL);
+    assertThat(classify("name starts \"c\"", statistics, 2)).isEqualTo(NONE);
+    assertThat(classify("name starts \"bb\"", statistics, 2)).isEqualTo(SOME);
+    assertThat(classify("name like \"c%d\"", statistics, 2)).isEqualTo(NONE);
+    assertThat(classify("name like \"b_\"", statistics, 2)).isEqualTo(SOME);
+    assertThat(classify("!(name starts \"b\")", statistics, 2)).isEqualTo(NONE);
+    assertThat(classify("!(name starts \"c\")", statistics, 2)).isEqualTo(ALL);
+  }
+
+  @Test
+  void classifyLogic() {
+    var statistics = Map.<String, Statistics<?>>of(ID, ints(0, 20, 30), NAME, strings("b", "d"));
+
+    assertThat(classify("id > 10 && name == \"c\"", statistics, 2)).isEqualTo(SOME);
+    assertThat(classify("id > 30 && name == \"c\"", statistics, 2)).isEqualTo(NONE);
+    assertThat(classify("id > 10 || name == \"c\"", statistics, 2)).isEqualTo(ALL);
+    assertThat(classify("id > 30 || name == \"a\"", statistics, 2)).isEqualTo(NONE);
+    assertThat(classify("!(id > 30)", statistics, 2)).isEqualTo(ALL);
+    assertThat(classify("!(id > 10 || name == \"c\")", statistics, 2)).isEqualTo(NONE);
+  }
+
+  @Test
+  void withoutStatistics() {
+    assertThat(classify("id > 10", Map.of(), 2)).isEqualTo(SOME);
+    assertThat(classify("id > 10", Map.of(ID, Statistics.createStats(schema.getType(ID).asPrimitiveType())), 2)).isEqualTo(SOME);
+  }
+
+  private FilterStatistics.Match classify(String filter, Map<String, Statistics<?>> statistics, long rowCount) {
+    return FilterStatistics.classify(parser.parse(filter).apply(schema), statistics, rowCount);
+  }
+
+  private Statistics<?> ints(int nulls, int... values) {
+    var statistics = Statistics.createStats(schema.getType(ID).asPrimitiveType());
+    for (int i = 0; i < nulls; i++) {
+      statistics.incrementNumNulls();
+    }
+    for (int value : values) {
+      statistics.updateStats(value);
+    }
+    return statistics;
+  }
+
+  private Statistics<?> strings(String... values) {
+    var statistics = Statistics.createStats(schema.getType(NAME).asPrimitiveType());
+    statistics.setNumNulls(0);
+    for (var value : values) {
+      statistics.updateStats(Binary.fromString(value));
+    }
+    return statistics;
+  }
+}
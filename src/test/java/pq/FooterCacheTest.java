@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+
+import org.apache.parquet.io.InputFile;
+import org.apache.parquet.io.SeekableInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FooterCacheTest {
+
+  // fails if the footer is not served from the cache
+  private static final InputFile NOT_CACHED = new InputFile() {
+
+    @Override
+    public long getLength() throws IOException {
+      throw new IOException("not cached");
+    }
+
+    @Override
+    public SeekableInputStream newStream() throws IOException {
+      throw new IOException("not cached");
+    }
+  };
+
+  @TempDir
+  Path tempDir;
+
+  Path cacheDir;
+  File file;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    cacheDir = tempDir.resolve("cache");
+    file = copy("example.parquet");
+  }
+
+  @Test
+  void hit() throws IOException {
+    var cache = new FooterCache(cacheDir);
+
+    var first = cache.read(file, new ParquetInputFile(file));
+    var second = cache.read(file, NOT_CACHED);
+
+    assertThat(second.getBlocks()).hasSameSizeAs(first.getBlocks());
+    assertThat(second.getFileMetaData().getSchema()).isEqualTo(first.getFileMetaData().getSchema());
+  }
+
+  @Test
+  void missWhenModified() throws IOException {
+    var cache = new FooterCache(cacheDir);
+    cache.read(file, new ParquetInputFile(file));
+
+    assertThat(file.setLastModified(file.lastModified() - 60_000)).isTrue();
+
+    assertThatThrownBy(() -> cache.read(file, NOT_CACHED)).hasMessage("not cached");
+  }
+
+  @Test
+  void missWhenSizeChanges() throws IOException {
+    var cache = new FooterCache(cacheDir);
+    cache.read(file, new ParquetInputFile(file));
+    long lastModified = file.lastModified();
+
+    Files.write(file.toPath(), new byte[] { 0 }, StandardOpenOption.APPEND);
+    assertThat(file.setLastModified(lastModified)).isTrue();
+
+    assertThatThrownBy(() -> cache.read(file, NOT_CACHED)).hasMessage("not cached");
+  }
+
+  @Test
+  void evictOldestEntries() throws IOException {
+    var other = copy("other.parquet");
+    var footerSize = ParquetFooter.readBytes(new ParquetInputFile(file)).length;
+    var cache = new FooterCache(cacheDir, footerSize + footerSize / 2);
+
+    cache.read(file, new ParquetInputFile(file));
+    try (var entries = Files.list(cacheDir)) {
+      for (var entry : entries.toList()) {
+        Files.setLastModifiedTime(entry, FileTime.fromMillis(0));
+      }
+    }
+    cache.read(other, new ParquetInputFile(other));
+
+    cache.read(other, NOT_CACHED);
+    assertThatThrownBy(() -> cache.read(file, NOT_CACHED)).hasMessage("not cached");
+  }
+
+  private File copy(String name) throws IOException {
+    var copy = tempDir.resolve(name);
+    Files.copy(Path.of("src/test/resources/example.parquet"), copy);
+    return copy.toFile();
+  }
+}
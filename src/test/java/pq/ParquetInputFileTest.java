@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import org.apache.parquet.bytes.HeapByteBufferAllocator;
+import org.apache.parquet.io.ParquetFileRange;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ParquetInputFileTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void mergeCloseRanges() {
+    var first = new ParquetFileRange(0, 10);
+    var second = new ParquetFileRange(15, 10);
+    var third = new ParquetFileRange(100, 10);
+
+    var result = ParquetInputFile.coalesce(List.of(third, second, first), 10);
+
+    assertThat(result).hasSize(2);
+    assertThat(result.get(0).offset()).isZero();
+    assertThat(result.get(0).length()).isEqualTo(25);
+    assertThat(result.get(0).ranges()).containsExactly(first, second);
+    assertThat(result.get(1).offset()).isEqualTo(100);
+    assertThat(result.get(1).length()).isEqualTo(10);
+    assertThat(result.get(1).ranges()).containsExactly(third);
+  }
+
+  @Test
+  void doNotMergeWhenGapIsBiggerThanThreshold() {
+    var first = new ParquetFileRange(0, 10);
+    var second = new ParquetFileRange(15, 10);
+
+    var result = ParquetInputFile.coalesce(List.of(first, second), 0);
+
+    assertThat(result).hasSize(2);
+  }
+
+  @Test
+  void readVectored() throws Exception {
+    readVectored(false);
+  }
+
+  @Test
+  void readVectoredMapped() throws Exception {
+    readVectored(true);
+  }
+
+  private void readVectored(boolean mapped) throws Exception {
+    var file = file(100_000);
+    var ranges = List.of(
+        new ParquetFileRange(50_000, 1000),
+        new ParquetFileRange(10, 100),
+        new ParquetFileRange(120, 30),
+        new ParquetFileRange(140, 20),
+        new ParquetFileRange(99_000, 1000));
+
+    try (var stream = new ParquetInputFile(file, mapped, 64).newStream()) {
+      stream.readVectored(ranges, HeapByteBufferAllocator.getInstance());
+
+      for (var range : ranges) {
+        assertThat(bytes(range.getDataReadFuture().get()))
+            .as("range %s", range)
+            .isEqualTo(expected(range.getOffset(), range.getLength()));
+      }
+    }
+  }
+
+  @Test
+  void readVectoredWithoutMerge() throws Exception {
+    var file = file(1000);
+    var ranges = List.of(new ParquetFileRange(0, 10), new ParquetFileRange(11, 10));
+
+    try (var stream = new ParquetInputFile(file, false, 0).newStream()) {
+      stream.readVectored(ranges, HeapByteBufferAllocator.getInstance());
+
+      assertThat(bytes(ranges.get(0).getDataReadFuture().get())).isEqualTo(expected(0, 10));
+      assertThat(bytes(ranges.get(1).getDataReadFuture().get())).isEqualTo(expected(11, 10));
+    }
+  }
+
+  @Test
+  void readVectoredPastTheEnd() throws Exception {
+    var file = file(1000);
+    var range = new ParquetFileRange(990, 20);
+
+    try (var stream = new ParquetInputFile(file, false, 0).newStream()) {
+      stream.readVectored(List.of(range), HeapByteBufferAllocator.getInstance());
+
+      assertThatThrownBy(() -> range.getDataReadFuture().get()).isInstanceOf(ExecutionException.class);
+    }
+  }
+
+  private File file(int length) throws IOException {
+    var file = tempDir.resolve("data.bin");
+    Files.write(file, expected(0, length));
+    return file.toFile();
+  }
+
+  private static byte[] expected(long offset, int length) {
+    var bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = (byte) ((offset + i) % 251);
+    }
+    return bytes;
+  }
+
+  private static byte[] bytes(ByteBuffer buffer) {
+    var bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return bytes;
+  }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ParquetOutputFileTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void writeAcrossBuffer() throws IOException {
+    var file = tempDir.resolve("test.bin");
+    var expected = new ByteArrayOutputStream();
+
+    try (var output = new ParquetOutputFile(file.toFile()).create(0)) {
+      // single bytes until the buffer is full, then chunks smaller and bigger than the buffer
+      for (int i = 0; i < 1024 * 1024 + 10; i++) {
+        output.write(i);
+        expected.write(i);
+      }
+      assertThat(output.getPos()).isEqualTo(expected.size());
+      for (int length : new int[] { 100, 3 * 1024 * 1024, 1024 * 1024 - 1, 1 }) {
+        var bytes = bytes(length, expected.size());
+        output.write(bytes);
+        expected.write(bytes);
+        assertThat(output.getPos()).isEqualTo(expected.size());
+      }
+      var bytes = bytes(2 * 1024 * 1024, 7);
+      output.write(bytes, 10, bytes.length - 20);
+      expected.write(bytes, 10, bytes.length - 20);
+      assertThat(output.getPos()).isEqualTo(expected.size());
+    }
+
+    assertThat(Files.readAllBytes(file)).isEqualTo(expected.toByteArray());
+  }
+
+  @Test
+  void flushWritesBufferedBytes() throws IOException {
+    var file = tempDir.resolve("test.bin");
+
+    try (var output = new ParquetOutputFile(file.toFile()).create(0)) {
+      output.write(new byte[] { 1, 2, 3 });
+      output.flush();
+
+      assertThat(Files.readAllBytes(file)).containsExactly(1, 2, 3);
+    }
+  }
+
+  @Test
+  void overwrite() throws IOException {
+    var file = tempDir.resolve("test.bin");
+    Files.write(file, bytes(1000, 0));
+
+    try (var output = new ParquetOutputFile(file.toFile()).createOrOverwrite(0)) {
+      output.write(new byte[] { 1, 2, 3 });
+    }
+
+    assertThat(Files.readAllBytes(file)).containsExactly(1, 2, 3);
+    assertThatThrownBy(() -> new ParquetOutputFile(file.toFile()).create(0)).isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void noBlockAlignment() {
+    var output = new ParquetOutputFile(tempDir.resolve("test.bin").toFile());
+
+    assertThat(output.supportsBlockSize()).isFalse();
+  }
+
+  private static byte[] bytes(int length, int seed) {
+    var bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = (byte) (seed + i);
+    }
+    return bytes;
+  }
+}
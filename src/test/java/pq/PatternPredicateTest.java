@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.parquet.io.api.Binary.fromString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.IntStream;
+
+import org.apache.parquet.io.api.Binary;
+import org.junit.jupiter.api.Test;
+
+class PatternPredicateTest {
+
+  @Test
+  void startsWith() {
+    var predicate = PatternPredicate.startsWith("https://shop/");
+
+    assertThat(predicate.keep(fromString("https://shop/item"))).isTrue();
+    assertThat(predicate.keep(fromString("https://shop/"))).isTrue();
+    assertThat(predicate.keep(fromString("https://shop"))).isFalse();
+    assertThat(predicate.keep(fromString("http://shop/item"))).isFalse();
+    assertThat(predicate.keep(null)).isFalse();
+  }
+
+  @Test
+  void like() {
+    var predicate = PatternPredicate.like("a_c%.com");
+
+    assertThat(predicate.keep(fromString("abc.com"))).isTrue();
+    assertThat(predicate.keep(fromString("axcdef.com"))).isTrue();
+    assertThat(predicate.keep(fromString("ac.com"))).isFalse();
+    assertThat(predicate.keep(fromString("abcxcom"))).isFalse();
+    assertThat(predicate.keep(null)).isFalse();
+  }
+
+  @Test
+  void likeWithoutWildcards() {
+    var predicate = PatternPredicate.like("a.b");
+
+    assertThat(predicate.keep(fromString("a.b"))).isTrue();
+    assertThat(predicate.keep(fromString("axb"))).isFalse();
+    assertThat(predicate.keep(fromString("a.bc"))).isFalse();
+  }
+
+  @Test
+  void likeWithTrailingWildcardIsPrefix() {
+    assertThat(PatternPredicate.like("abc%")).isEqualTo(PatternPredicate.startsWith("abc"));
+    assertThat(PatternPredicate.like("%")).isEqualTo(PatternPredicate.startsWith(""));
+  }
+
+  @Test
+  void regex() {
+    var predicate = PatternPredicate.regex("ERR|WARN");
+
+    assertThat(predicate.keep(fromString("WARN"))).isTrue();
+    assertThat(predicate.keep(fromString("[ERROR]"))).isTrue();
+    assertThat(predicate.keep(fromString("INFO"))).isFalse();
+    assertThat(predicate.keep(fromString("WARN"))).isTrue();
+    assertThat(predicate.keep(fromString("INFO"))).isFalse();
+    assertThat(predicate.keep(null)).isFalse();
+  }
+
+  @Test
+  void regexWithReusedValues() {
+    var predicate = PatternPredicate.regex("^host-[0-9]+$");
+    var bytes = "host-1".getBytes(UTF_8);
+
+    assertThat(predicate.keep(Binary.fromReusedByteArray(bytes))).isTrue();
+    bytes[5] = 'x';
+    assertThat(predicate.keep(Binary.fromReusedByteArray(bytes))).isFalse();
+  }
+
+  @Test
+  void regexFromManyThreads() {
+    var predicate = PatternPredicate.regex("^host-[0-9]*[37]$");
+
+    var matches = IntStream.range(0, 100_000).parallel()
+        .filter(i -> predicate.keep(fromString("host-" + i % 10_000)))
+        .count();
+
+    assertThat(matches).isEqualTo(20_000);
+  }
+
+  @Test
+  void regexPrefix() {
+    assertThat(PatternPredicate.regex("^host-[0-9]").canDrop(fromString("a"), fromString("hosa"))).isTrue();
+    assertThat(PatternPredicate.regex("^host-[0-9]").canDrop(fromString("a"), fromString("hosu"))).isFalse();
+    assertThat(PatternPredicate.regex("^hosts?").canDrop(fromString("a"), fromString("hosa"))).isTrue();
+    assertThat(PatternPredicate.regex("^hosts?").canDrop(fromString("host"), fromString("host"))).isFalse();
+    assertThat(PatternPredicate.regex("^a|host").canDrop(fromString("host"), fromString("host"))).isFalse();
+    assertThat(PatternPredicate.regex("host").canDrop(fromString("a"), fromString("b"))).isFalse();
+  }
+
+  @Test
+  void canDrop() {
+    var predicate = PatternPredicate.startsWith("b");
+
+    assertThat(predicate.canDrop(fromString("a"), fromString("az"))).isTrue();
+    assertThat(predicate.canDrop(fromString("c"), fromString("d"))).isTrue();
+    assertThat(predicate.canDrop(fromString("a"), fromString("b"))).isFalse();
+    assertThat(predicate.canDrop(fromString("bz"), fromString("c"))).isFalse();
+    assertThat(predicate.canDrop(fromString("a"), fromString("c"))).isFalse();
+  }
+
+  @Test
+  void canDropWithPrefixOfLike() {
+    var predicate = PatternPredicate.like("ab_");
+
+    assertThat(predicate.canDrop(fromString("b"), fromString("c"))).isTrue();
+    assertThat(predicate.canDrop(fromString("a"), fromString("aa"))).isTrue();
+    assertThat(predicate.canDrop(fromString("a"), fromString("b"))).isFalse();
+  }
+
+  @Test
+  void keepAll() {
+    assertThat(PatternPredicate.startsWith("b").keepAll(fromString("ba"), fromString("bz"))).isTrue();
+    assertThat(PatternPredicate.startsWith("b").keepAll(fromString("a"), fromString("bz"))).isFalse();
+    assertThat(PatternPredicate.like("b_").keepAll(fromString("ba"), fromString("bz"))).isFalse();
+  }
+}
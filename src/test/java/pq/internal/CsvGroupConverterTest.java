@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq.internal;
+
+import static org.apache.parquet.schema.LogicalTypeAnnotation.stringType;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BINARY;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.DOUBLE;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT32;
+import static org.apache.parquet.schema.Types.buildMessage;
+import static org.apache.parquet.schema.Types.optional;
+import static org.apache.parquet.schema.Types.repeated;
+import static org.apache.parquet.schema.Types.required;
+import static org.assertj.core.api.Assertions.assertThat;
+import static pq.internal.JsonBufferGroupConverterTest.dictionary;
+
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.junit.jupiter.api.Test;
+
+class CsvGroupConverterTest {
+
+  private static final String ID = "id";
+  private static final String NAME = "name";
+
+  private final TextBuffer line = new TextBuffer();
+
+  @Test
+  void convertPrimitives() {
+    var converter = converter(buildMessage()
+        .addField(required(INT32).named(ID))
+        .addField(optional(BINARY).as(stringType()).named(NAME))
+        .addField(optional(DOUBLE).named("salary"))
+        .named("item"), ',');
+
+    converter.start();
+    converter.getConverter(0).asPrimitiveConverter().addInt(1);
+    converter.getConverter(2).asPrimitiveConverter().addDouble(2.5);
+    converter.end();
+
+    assertThat(line).hasToString("1,,2.5");
+  }
+
+  @Test
+  void quoteStrings() {
+    var converter = converter(buildMessage()
+        .addField(required(BINARY).as(stringType()).named(NAME))
+        .named("item"), ',');
+
+    converter.start();
+    converter.getConverter(0).asPrimitiveConverter().addBinary(Binary.fromString("say \"hi\",\nbye"));
+    converter.end();
+
+    assertThat(line).hasToString("\"say \"\"hi\"\",\nbye\"");
+  }
+
+  @Test
+  void quoteStringsFromDictionary() {
+    var converter = converter(buildMessage()
+        .addField(required(BINARY).as(stringType()).named(NAME))
+        .named("item"), ';');
+    var primitive = converter.getConverter(0).asPrimitiveConverter();
+    primitive.setDictionary(dictionary("a\"b", "c"));
+
+    converter.start();
+    primitive.addValueFromDictionary(0);
+    converter.end();
+
+    assertThat(line).hasToString("\"a\"\"b\"");
+  }
+
+  @Test
+  void quoteRepeatedWithDelimiter() {
+    var converter = converter(buildMessage().addField(repeated(INT32).named(ID)).named("item"), ',');
+
+    converter.start();
+    converter.getConverter(0).asPrimitiveConverter().addInt(1);
+    converter.getConverter(0).asPrimitiveConverter().addInt(2);
+    converter.end();
+
+    assertThat(line).hasToString("\"[1,2]\"");
+  }
+
+  @Test
+  void repeatedWithoutDelimiterIsNotQuoted() {
+    var converter = converter(buildMessage().addField(repeated(INT32).named(ID)).named("item"), ';');
+
+    converter.start();
+    converter.getConverter(0).asPrimitiveConverter().addInt(1);
+    converter.getConverter(0).asPrimitiveConverter().addInt(2);
+    converter.end();
+
+    assertThat(line).hasToString("[1,2]");
+  }
+
+  private CsvGroupConverter converter(MessageType schema, char delimiter) {
+    return new CsvGroupConverter(schema, line, (byte) delimiter);
+  }
+}
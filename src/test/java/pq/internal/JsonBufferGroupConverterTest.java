@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2023-2026, Antonio Gabriel Muñoz Conejo <me at tonivade dot es>
+ * Distributed under the terms of the MIT License
+ */
+package pq.internal;
+
+import static com.eclipsesource.json.Json.array;
+import static com.eclipsesource.json.Json.object;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.apache.parquet.schema.LogicalTypeAnnotation.stringType;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BINARY;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.DOUBLE;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT32;
+import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT64;
+import static org.apache.parquet.schema.Types.optional;
+import static org.apache.parquet.schema.Types.optionalGroup;
+import static org.apache.parquet.schema.Types.repeated;
+import static org.apache.parquet.schema.Types.required;
+import static org.apache.parquet.schema.Types.requiredGroup;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.eclipsesource.json.Json;
+
+import org.apache.parquet.column.Dictionary;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.GroupType;
+import org.apache.parquet.schema.PrimitiveType;
+import org.junit.jupiter.api.Test;
+
+class JsonBufferGroupConverterTest {
+
+  private static final String ID = "id";
+  private static final String NAME = "name";
+
+  private final TextBuffer buffer = new TextBuffer();
+
+  @Test
+  void convertPrimitives() {
+    var converter = converter(requiredGroup()
+        .addField(required(INT64).named(ID))
+        .addField(required(DOUBLE).named("salary"))
+        .named("item"));
+
+    converter.start();
+    converter.getConverter(0).asPrimitiveConverter().addLong(-123);
+    converter.getConverter(1).asPrimitiveConverter().addDouble(1);
+    converter.end();
+
+    assertThat(buffer).hasToString(object().add(ID, -123L).add("salary", 1d).toString());
+  }
+
+  @Test
+  void missingFieldsAreNull() {
+    var converter = converter(requiredGroup()
+        .addField(optional(INT32).named(ID))
+        .addField(optional(BINARY).as(stringType()).named(NAME))
+        .addField(optional(INT32).named("age"))
+        .named("item"));
+
+    converter.start();
+    converter.getConverter(1).asPrimitiveConverter().addBinary(Binary.fromString("a"));
+    converter.end();
+
+    assertThat(buffer).hasToString(object().add(ID, Json.NULL).add(NAME, "a").add("age", Json.NULL).toString());
+  }
+
+  @Test
+  void escapeStrings() {
+    var value = "quote \" backslash \\ new line \n tab \t control \u0001 separator \u2028 unicode ñ";
+    var converter = converter(requiredGroup().addField(required(BINARY).as(stringType()).named(NAME)).named("item"));
+
+    converter.start();
+    converter.getConverter(0).asPrimitiveConverter().addBinary(Binary.fromString(value));
+    converter.end();
+
+    assertThat(buffer).hasToString(object().add(NAME, value).toString());
+  }
+
+  // the bytes are compared, toString would replace invalid utf-8 too
+  @Test
+  void replaceMalformedUtf8() {
+    assertMalformed(new byte[] { 0x61, (byte) 0xff, 0x62 });
+    assertMalformed(new byte[] { 0x61, (byte) 0xc3 });
+    assertMalformed(new byte[] { (byte) 0xe2, (byte) 0x82, 0x61 });
+    assertMalformed(new byte[] { (byte) 0xc0, (byte) 0xaf, 0x22 });
+    assertMalformed(new byte[] { (byte) 0xed, (byte) 0xa0, (byte) 0x80, 0x0a });
+    assertMalformed(new byte[] { (byte) 0xf4, (byte) 0x90, (byte) 0x80, (byte) 0x80 });
+    assertMalformed(new byte[] { (byte) 0xc3, (byte) 0xb1, (byte) 0x80, (byte) 0xe2, (byte) 0x80, (byte) 0xa8 });
+  }
+
+  @Test
+  void convertFromDictionary() {
+    var converter = converter(requiredGroup().addField(required(BINARY).as(stringType()).named(NAME)).named("item"));
+    var primitive = converter.getConverter(0).asPrimitiveConverter();
+    primitive.setDictionary(dictionary("a\"b", "c"));
+
+    converter.start();
+    primitive.addValueFromDictionary(0);
+    converter.end();
+
+    assertThat(buffer).hasToString(object().add(NAME, "a\"b").toString());
+  }
+
+  @Test
+  void convertRepeated() {
+    var converter = converter(requiredGroup()
+        .addField(repeated(INT32).named(ID))
+        .addField(optional(INT32).named("age"))
+        .named("item"));
+
+    converter.start();
+    converter.getConverter(0).asPrimitiveConverter().addInt(1);
+    converter.getConverter(0).asPrimitiveConverter().addInt(2);
+    converter.getConverter(1).asPrimitiveConverter().addInt(3);
+    converter.end();
+
+    assertThat(buffer).hasToString(object().add(ID, array().add(1).add(2)).add("age", 3).toString());
+  }
+
+  @Test
+  void convertInnerAndList() {
+    PrimitiveType id = required(BINARY).as(stringType()).named(ID);
+    var converter = converter(requiredGroup()
+        .addField(optionalGroup().addField(id).named("inner"))
+        .requiredList().element(id).named("list")
+        .named("item"));
+
+    converter.start();
+    var inner = converter.getConverter(0).asGroupConverter();
+    inner.start();
+    inner.getConverter(0).asPrimitiveConverter().addBinary(Binary.fromString("a"));
+    inner.end();
+    var list = converter.getConverter(1).asGroupConverter();
+    list.start();
+    for (var value : new String[] { "b", "c" }) {
+      var element = list.getConverter(0).asGroupConverter();
+      element.start();
+      element.getConverter(0).asPrimitiveConverter().addBinary(Binary.fromString(value));
+      element.end();
+    }
+    list.end();
+    converter.end();
+
+    assertThat(buffer).hasToString(object()
+        .add("inner", object().add(ID, "a"))
+        .add("list", array().add(object().add(ID, "b")).add(object().add(ID, "c"))).toString());
+  }
+
+  static Dictionary dictionary(String... values) {
+    return new Dictionary(Encoding.PLAIN_DICTIONARY) {
+      @Override
+      public Binary decodeToBinary(int id) {
+        return Binary.fromString(values[id]);
+      }
+
+      @Override
+      public int getMaxId() {
+        return values.length - 1;
+      }
+    };
+  }
+
+  private JsonBufferGroupConverter converter(GroupType schema) {
+    return new JsonBufferGroupConverter(schema, buffer, i -> buffer.reset(), 0);
+  }
+
+  private void assertMalformed(byte[] bytes) {
+    var value = Binary.fromConstantByteArray(bytes);
+    var converter = converter(requiredGroup().addField(required(BINARY).as(stringType()).named(NAME)).named("item"));
+
+    buffer.reset();
+    converter.start();
+    converter.getConverter(0).asPrimitiveConverter().addBinary(value);
+    converter.end();
+
+    assertThat(buffer.toByteArray()).isEqualTo(object().add(NAME, value.toStringUsingUTF8()).toString().getBytes(UTF_8));
+  }
+}
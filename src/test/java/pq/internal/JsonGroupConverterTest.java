@@ -13,13 +13,16 @@ import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.DOUBLE;
 import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.FLOAT;
 import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT32;
 import static org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT64;
+import static org.apache.parquet.schema.Types.optional;
 import static org.apache.parquet.schema.Types.optionalGroup;
 import static org.apache.parquet.schema.Types.repeated;
 import static org.apache.parquet.schema.Types.repeatedGroup;
 import static org.apache.parquet.schema.Types.required;
 import static org.apache.parquet.schema.Types.requiredGroup;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.verify;
 
+import com.eclipsesource.json.Json;
 import com.eclipsesource.json.JsonValue;
 
 import java.util.function.Consumer;
@@ -105,6 +108,19 @@ class JsonGroupConverterTest {
       verify(consumer).accept(object().add(ID, "a"));
     }
 
+    @Test
+    void convertStringFromDictionary() {
+      var converter = new JsonGroupConverter(requiredGroup().addField(required(BINARY).as(stringType()).named(ID)).named("item"), consumer);
+      var primitive = converter.getConverter(0).asPrimitiveConverter();
+      primitive.setDictionary(JsonBufferGroupConverterTest.dictionary("a", "b"));
+
+      converter.start();
+      primitive.addValueFromDictionary(1);
+      converter.end();
+
+      verify(consumer).accept(object().add(ID, "b"));
+    }
+
     @Test
     void convertInner() {
       PrimitiveType id = required(BINARY).as(stringType()).named(ID);
@@ -243,4 +259,103 @@ class JsonGroupConverterTest {
       verify(consumer).accept(object().add("inner", array().add(object().add(ID, "a")).add(object().add(ID, "b")).add(object().add(ID, "c"))));
     }
   }
+
+  @Nested
+  class reuse {
+
+    @Test
+    void repeatedPrimitiveShrinks() {
+      var converter = new JsonGroupConverter(requiredGroup().addField(repeated(INT32).named(ID)).named("item"), consumer);
+      var primitive = converter.getConverter(0).asPrimitiveConverter();
+
+      converter.start();
+      primitive.addInt(1);
+      primitive.addInt(2);
+      primitive.addInt(3);
+      converter.end();
+      converter.start();
+      primitive.addInt(4);
+      converter.end();
+      converter.start();
+      converter.end();
+
+      var inOrder = inOrder(consumer);
+      inOrder.verify(consumer).accept(object().add(ID, array().add(1).add(2).add(3)));
+      inOrder.verify(consumer).accept(object().add(ID, array().add(4)));
+      inOrder.verify(consumer).accept(object().add(ID, Json.NULL));
+    }
+
+    @Test
+    void repeatedStringShrinks() {
+      var converter = new JsonGroupConverter(requiredGroup().addField(repeated(BINARY).as(stringType()).named(ID)).named("item"), consumer);
+      var primitive = converter.getConverter(0).asPrimitiveConverter();
+
+      converter.start();
+      primitive.addBinary(Binary.fromString("a"));
+      primitive.addBinary(Binary.fromString("b"));
+      converter.end();
+      converter.start();
+      primitive.addBinary(Binary.fromString("c"));
+      converter.end();
+
+      var inOrder = inOrder(consumer);
+      inOrder.verify(consumer).accept(object().add(ID, array().add("a").add("b")));
+      inOrder.verify(consumer).accept(object().add(ID, array().add("c")));
+    }
+
+    @Test
+    void optionalFieldsBecomeNull() {
+      PrimitiveType id = optional(BINARY).as(stringType()).named(ID);
+      var converter = new JsonGroupConverter(requiredGroup()
+          .addField(optional(INT32).named("count"))
+          .addField(optionalGroup().addField(id).named("inner")).named("item"), consumer);
+      var inner = converter.getConverter(1).asGroupConverter();
+
+      converter.start();
+      converter.getConverter(0).asPrimitiveConverter().addInt(1);
+      inner.start();
+      inner.getConverter(0).asPrimitiveConverter().addBinary(Binary.fromString("a"));
+      inner.end();
+      converter.end();
+      converter.start();
+      inner.start();
+      inner.end();
+      converter.end();
+      converter.start();
+      converter.end();
+
+      var inOrder = inOrder(consumer);
+      inOrder.verify(consumer).accept(object().add("count", 1).add("inner", object().add(ID, "a")));
+      inOrder.verify(consumer).accept(object().add("count", Json.NULL).add("inner", object().add(ID, Json.NULL)));
+      inOrder.verify(consumer).accept(object().add("count", Json.NULL).add("inner", Json.NULL));
+    }
+
+    @Test
+    void repeatedGroupShrinks() {
+      PrimitiveType id = repeated(INT32).named(ID);
+      var converter = new JsonGroupConverter(requiredGroup().addField(repeatedGroup().addField(id).named("inner")).named("item"), consumer);
+      var inner = converter.getConverter(0).asGroupConverter();
+
+      converter.start();
+      inner.start();
+      inner.getConverter(0).asPrimitiveConverter().addInt(1);
+      inner.getConverter(0).asPrimitiveConverter().addInt(2);
+      inner.end();
+      inner.start();
+      inner.getConverter(0).asPrimitiveConverter().addInt(3);
+      inner.end();
+      converter.end();
+      converter.start();
+      inner.start();
+      inner.end();
+      converter.end();
+      converter.start();
+      converter.end();
+
+      var inOrder = inOrder(consumer);
+      inOrder.verify(consumer).accept(object().add("inner", array().add(object().add(ID, array().add(1).add(2))).add(object().add(ID, array().add(3)))));
+      inOrder.verify(consumer).accept(object().add("inner", array().add(object().add(ID, Json.NULL))));
+      inOrder.verify(consumer).accept(object().add("inner", Json.NULL));
+    }
+  }
 }